@@ -7,6 +7,7 @@ plugins {
     id("maven-publish")
     alias(libs.plugins.shadow)
     id("io.papermc.paperweight.userdev") version "2.0.0-beta.17"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "me.kubbidev"
@@ -44,6 +45,8 @@ dependencies {
     compileOnly("me.kubbidev:nexuspowered:2.0.0")
 
     // Unit tests
+    testImplementation("me.kubbidev:spellcaster:2.0.1")
+    testImplementation("me.kubbidev:nexuspowered:2.0.0")
     testImplementation("org.testcontainers:junit-jupiter:1.20.4")
     testImplementation("org.mockito:mockito-core:5.14.2")
     testImplementation("org.mockito:mockito-junit-jupiter:5.14.2")
@@ -51,12 +54,37 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.4")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.11.4")
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.11.4")
+
+    // Benchmarks, run outside of a server
+    jmh("io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT")
+    jmh("me.kubbidev:spellcaster:2.0.1")
+    jmh("me.kubbidev:nexuspowered:2.0.0")
+}
+
+// the vector point kernel links against an incubating module, it gets its own source set so that only its compilation needs the module
+val vector: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
 }
 
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    // the vector point kernel is only loaded when the server runs with this module
+    options.compilerArgs.add("--add-modules=jdk.incubator.vector")
+    // javac has no lint category for the incubating module warning, and the source set only holds the kernel
+    options.compilerArgs.add("-Xlint:none")
+}
+
+tasks.jar {
+    from(vector.output)
+}
+
+tasks.named<Jar>("sourcesJar") {
+    from(vector.allSource)
+}
+
 tasks.processResources {
     filesMatching("plugin.yml") {
         expand("pluginVersion" to "$version")
@@ -65,6 +93,7 @@ tasks.processResources {
 
 tasks.shadowJar {
     archiveFileName = "BlockTune-$version.jar"
+    from(vector.output)
     mergeServiceFiles()
     dependencies {
         include(dependency("me.kubbidev:.*"))
@@ -97,6 +126,11 @@ tasks.withType<Test>().configureEach {
     }
 }
 
+jmh {
+    // the benchmarks pick their own iterations, only the results format is set here
+    resultFormat = "JSON"
+}
+
 artifacts {
     archives(tasks.shadowJar)
 }
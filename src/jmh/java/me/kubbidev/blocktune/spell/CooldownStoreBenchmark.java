@@ -0,0 +1,88 @@
+package me.kubbidev.blocktune.spell;
+
+import me.kubbidev.blocktune.scheduler.TimingWheel;
+import me.kubbidev.nexuspowered.cooldown.Cooldown;
+import me.kubbidev.nexuspowered.cooldown.CooldownMap;
+import me.kubbidev.spellcaster.spell.handler.SpellHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Compares reading a cooldown from the {@link CooldownStore} with reading it from the {@link CooldownMap} spellcaster keeps per entity.
+ * <p>
+ * Every entity is on cooldown for half of the abilities, and each invocation reads the cooldown of the next pair of entity and ability
+ * of a shuffled sequence, so that neither side only ever hits the same entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownStoreBenchmark {
+
+    private static final Ability[] ABILITIES = Ability.values();
+    private static final int       LOOKUPS   = 1 << 12;
+
+    @Param({"16", "1024"})
+    private int entities;
+
+    private CooldownStore                  store;
+    // entity id -> cooldowns of the entity in spellcaster
+    private CooldownMap<SpellHandler<?>>[] maps;
+
+    // the pairs of entity id and ability read in turn
+    private int[]     ids;
+    private Ability[] abilities;
+    private int       next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.store = new CooldownStore(new TimingWheel(Logger.getLogger("CooldownStoreBenchmark")));
+        this.maps = new CooldownMap[this.entities];
+        for (int id = 0; id < this.entities; id++) {
+            this.maps[id] = CooldownMap.create(Cooldown.of(1, TimeUnit.HOURS));
+            for (int i = id & 1; i < ABILITIES.length; i += 2) {
+                Ability ability = ABILITIES[i];
+                // starts the cooldown of the ability in spellcaster, then copies it the way a cast does
+                this.maps[id].test(ability.getHandler());
+                Cooldown cooldown = this.maps[id].get(ability.getHandler()).orElseThrow();
+                this.store.copy(id, ability, cooldown.remainingMillis(), cooldown.getTimeout());
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(42L);
+        this.ids = new int[LOOKUPS];
+        this.abilities = new Ability[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.ids[i] = random.nextInt(this.entities);
+            this.abilities[i] = ABILITIES[random.nextInt(ABILITIES.length)];
+        }
+    }
+
+    @Benchmark
+    public long store() {
+        int i = this.next++ & (LOOKUPS - 1);
+        return this.store.remainingMillis(this.ids[i], this.abilities[i]);
+    }
+
+    @Benchmark
+    public long cooldownMap() {
+        int i = this.next++ & (LOOKUPS - 1);
+        return this.maps[this.ids[i]].get(this.abilities[i].getHandler()).map(Cooldown::remainingMillis).orElse(0L);
+    }
+}
@@ -2,7 +2,19 @@ package me.kubbidev.blocktune;
 
 import me.kubbidev.blocktune.commands.*;
 import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.blocktune.entity.TargetIndexManager;
+import me.kubbidev.blocktune.math.PointKernels;
+import me.kubbidev.blocktune.scheduler.EntitySpellScheduler;
+import me.kubbidev.blocktune.scheduler.GlobalSpellScheduler;
+import me.kubbidev.blocktune.scheduler.SpellScheduler;
+import me.kubbidev.blocktune.spell.CastingRegistry;
+import me.kubbidev.blocktune.spell.CooldownStore;
+import me.kubbidev.blocktune.spell.PreparedSpells;
+import me.kubbidev.blocktune.spell.handler.SpellTickEngine;
+import me.kubbidev.blocktune.spell.hit.DamageQueue;
+import me.kubbidev.blocktune.spell.hit.SpatialIndexManager;
 import me.kubbidev.blocktune.spell.listener.AttackActionListener;
+import me.kubbidev.blocktune.spell.particle.ParticleBatcher;
 import me.kubbidev.blocktune.scoreboard.ScoreboardManager;
 import me.kubbidev.blocktune.placeholder.DefaultPlaceholderParser;
 import me.kubbidev.blocktune.placeholder.PlaceholderAPIHook;
@@ -13,14 +25,25 @@ import me.kubbidev.nexuspowered.plugin.ExtendedJavaPlugin;
 import me.kubbidev.nexuspowered.util.Players;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Locale;
+
 public final class BlockTune extends ExtendedJavaPlugin {
 
     // init during enable
     private KeyedConfiguration configuration;
 
     private PlaceholderParser placeholderParser;
+    private SpellScheduler    spellScheduler;
     private ScoreboardManager scoreboardManager;
 
+    private CastingRegistry      castingRegistry;
+    private CooldownStore        cooldownStore;
+    private PreparedSpells       preparedSpells;
+    private SpellTickEngine      spellTickEngine;
+    private SpatialIndexManager  spatialIndexManager;
+    private TargetIndexManager   targetIndexManager;
+    private DamageQueue          damageQueue;
+    private ParticleBatcher      particleBatcher;
     private AttackActionListener actionListener;
 
     @Override
@@ -41,9 +64,28 @@ public final class BlockTune extends ExtendedJavaPlugin {
             this.placeholderParser = DefaultPlaceholderParser.INSTANCE;
         }
 
+        // select the scheduler running casts and scoreboards
+        if (this.configuration.get(ConfigKeys.SPELL_SCHEDULER) == SpellScheduler.Type.ENTITY) {
+            this.spellScheduler = new EntitySpellScheduler(this);
+        } else {
+            this.spellScheduler = GlobalSpellScheduler.INSTANCE;
+        }
+        getLogger().info("Using the " + this.spellScheduler.getType().name().toLowerCase(Locale.ROOT) + " spell scheduler");
+
         // init scoreboard managers listener registering
         this.scoreboardManager = new ScoreboardManager(this);
 
+        getLogger().info("Using the " + PointKernels.get().getName() + " spell point kernel");
+        this.castingRegistry = new CastingRegistry();
+        this.spellTickEngine = new SpellTickEngine(this);
+        this.spellTickEngine.start();
+        // cooldowns expire on the timing wheel of the engine
+        this.cooldownStore = new CooldownStore(this.spellTickEngine.getTimingWheel());
+        this.preparedSpells = new PreparedSpells();
+        this.spatialIndexManager = new SpatialIndexManager();
+        this.targetIndexManager = new TargetIndexManager();
+        this.damageQueue = new DamageQueue(this);
+        this.particleBatcher = new ParticleBatcher(this);
         this.actionListener = new AttackActionListener(this);
         this.actionListener.onEnable();
 
@@ -60,12 +102,19 @@ public final class BlockTune extends ExtendedJavaPlugin {
 
     @Override
     public void disable() {
+        // end the casts still running and stop the spell workers
+        getSpellTickEngine().shutdown();
+
         // unregister api
         BlockTuneProvider.unregister();
 
         // disable listeners
         getActionListener().onDisable();
 
+        // drop damage and particles which could not be applied anymore
+        getDamageQueue().clear();
+        getParticleBatcher().clear();
+
         // reload all scoreboard
         Players.forEach(player -> {
             getScoreboardManager().unregisterScoreboard(player);
@@ -75,10 +124,17 @@ public final class BlockTune extends ExtendedJavaPlugin {
 
     public void reloadPlugin() {
         this.configuration.reload();
+        this.preparedSpells.rebuild();
     }
 
     private void registerPlatformListeners() {
         registerListener(this.scoreboardManager);
+        registerListener(this.castingRegistry);
+        registerListener(this.cooldownStore);
+        registerListener(this.spatialIndexManager);
+        registerListener(this.targetIndexManager);
+        registerListener(this.damageQueue);
+        registerListener(this.particleBatcher);
         registerListener(this.actionListener);
     }
 
@@ -100,10 +156,46 @@ public final class BlockTune extends ExtendedJavaPlugin {
         return this.placeholderParser;
     }
 
+    public @NotNull SpellScheduler getSpellScheduler() {
+        return this.spellScheduler;
+    }
+
     public @NotNull ScoreboardManager getScoreboardManager() {
         return this.scoreboardManager;
     }
 
+    public @NotNull CastingRegistry getCastingRegistry() {
+        return this.castingRegistry;
+    }
+
+    public @NotNull CooldownStore getCooldownStore() {
+        return this.cooldownStore;
+    }
+
+    public @NotNull PreparedSpells getPreparedSpells() {
+        return this.preparedSpells;
+    }
+
+    public @NotNull SpellTickEngine getSpellTickEngine() {
+        return this.spellTickEngine;
+    }
+
+    public @NotNull SpatialIndexManager getSpatialIndexManager() {
+        return this.spatialIndexManager;
+    }
+
+    public @NotNull TargetIndexManager getTargetIndexManager() {
+        return this.targetIndexManager;
+    }
+
+    public @NotNull DamageQueue getDamageQueue() {
+        return this.damageQueue;
+    }
+
+    public @NotNull ParticleBatcher getParticleBatcher() {
+        return this.particleBatcher;
+    }
+
     public @NotNull AttackActionListener getActionListener() {
         return this.actionListener;
     }
@@ -1,14 +1,15 @@
 package me.kubbidev.blocktune;
 
+import me.kubbidev.blocktune.math.Vec3d;
 import me.kubbidev.blocktune.spell.SpellMetadataProvider;
+import me.kubbidev.blocktune.spell.hit.EntitySpatialIndex;
+import me.kubbidev.blocktune.spell.hit.HitLedger;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
 import me.kubbidev.spellcaster.SpellCasterProvider;
-import me.kubbidev.spellcaster.damage.AttackMetadata;
-import me.kubbidev.spellcaster.damage.DamageMetadata;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
 import org.bukkit.Location;
-import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.entity.*;
 import org.bukkit.potion.PotionEffect;
@@ -72,28 +73,83 @@ public final class UtilityMethod {
      * Performs a fast ray trace from the given origin in the specified direction.
      *
      * @param origin    The starting location of the ray trace.
-     * @param direction The direction vector for the ray trace.
+     * @param direction The direction vector for the ray trace, left untouched.
      * @param multiply  The distance the ray will travel.
-     * @return The location where the ray trace ends, either at a hit block or the endpoint of the ray.
+     * @param out       The vector receiving the position where the ray trace ends.
+     * @return The given {@code out} vector.
      */
-    public static Location fastRayTrace(Location origin, Vector direction, double multiply) {
-        return origin.clone().add(direction.multiply(multiply));
+    public static Vec3d fastRayTrace(Location origin, Vec3d direction, double multiply, Vec3d out) {
+        return out.set(
+            origin.getX() + direction.getX() * multiply,
+            origin.getY() + direction.getY() * multiply,
+            origin.getZ() + direction.getZ() * multiply
+        );
     }
 
     public static void attack(SpellMetadata meta, Location location, double damage, double radius, double knockback, double repulsion,
                               boolean shouldSwing, @Nullable Element element, DamageType... types) {
+        attack(meta, new SweptVolume(location.getWorld()).add(location),
+            damage,
+            radius,
+            knockback,
+            repulsion, shouldSwing, element, types
+        );
+    }
+
+    /**
+     * Attacks every entity within the given radius of the volume swept by a spell during the current tick.
+     * <p>
+     * The distinct victims of the whole volume are resolved in one broad-phase pass, so each of them is only tested and attacked once no
+     * matter how many sample points of the volume it is close to.
+     *
+     * @param meta        The metadata of the spell cast performing the attack.
+     * @param volume      The volume swept by the spell during the current tick.
+     * @param damage      The damage dealt to each victim.
+     * @param radius      The distance from the volume under which an entity is hit.
+     * @param knockback   The knockback multiplier applied to each victim.
+     * @param repulsion   How projectiles are repulsed ({@code 1.0} removes them, {@code 2.0} reflects them).
+     * @param shouldSwing Whether the caster should swing its hands when something got hit.
+     * @param element     The element of the attack.
+     * @param types       The damage types of the attack.
+     */
+    public static void attack(SpellMetadata meta, SweptVolume volume, double damage, double radius, double knockback, double repulsion,
+                              boolean shouldSwing, @Nullable Element element, DamageType... types) {
+        // nothing has been swept, no need to query any entity
+        if (volume.isEmpty()) {
+            return;
+        }
         LivingEntity caster = meta.entity();
         double d;
         double k;
         boolean isSwinging = false;
 
+        // broad-phase, query the per-tick entity snapshot once with the bounding sphere of the whole volume
+        double[] bounds = new double[4];
+        volume.boundingSphere(bounds);
+
+        BlockTune plugin = BlockTuneProvider.get();
+        EntitySpatialIndex index = plugin.getSpatialIndexManager().getIndex(volume.getWorld());
+        List<Entity> candidates = index.getNearbyEntities(bounds[0], bounds[1], bounds[2], bounds[3] + radius);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
         // scale damage on caster strength effect amplifier
         damage *= 1.0 + ((double) getPotionAmplifier(caster, PotionEffectType.STRENGTH) / 3);
 
-        for (Entity victim : getNearbyChunkEntities(location).stream()
-            .filter(e -> !e.equals(caster))
-            .filter(e -> e.getLocation().distanceSquared(location) <= (radius * radius))
-            .toList()) {
+        // victims already processed by this cast are skipped before any other check
+        @Nullable HitLedger ledger = HitLedger.get(meta);
+        boolean isCasterCasting = SpellMetadataProvider.isCasting(caster);
+
+        for (Entity victim : candidates) {
+            // narrow-phase, the victim must be close to at least one part of the volume
+            if (victim.equals(caster) || !volume.intersects(victim.getX(), victim.getY(), victim.getZ(), radius)) {
+                continue;
+            }
+            if (ledger != null && ledger.shouldSkip(victim.getEntityId())) {
+                continue;
+            }
+            boolean isHit = false;
 
             if (canTarget(SpellCasterProvider.get(), caster, victim)) {
                 boolean isBlocking = false;
@@ -104,45 +160,21 @@ public final class UtilityMethod {
 
                 // skip if the target cannot be damaged yet
                 if (target.getNoDamageTicks() > (target.getMaximumNoDamageTicks() / 2.0)) {
+                    if (ledger != null) {
+                        ledger.record(victim.getEntityId(), false);
+                    }
                     continue;
                 }
 
-                boolean isCasterCasting = SpellMetadataProvider.isCasting(caster);
-                boolean isVictimCasting = SpellMetadataProvider.isCasting(target);
-
-                if (isVictimCasting && isCasterCasting && damage > 0.0) {
+                if (isCasterCasting && damage > 0.0 && SpellMetadataProvider.isCasting(target)) {
                     isBlocking = true;
                     d *= 0.5;
                     k *= 0.5;
                 }
 
-                boolean isKnockback = k != 0.0;
-
-                AttackMetadata attackMetadata = meta.caster().attack(target, d, isKnockback, element, types);
-                DamageMetadata damageMetadata = attackMetadata.getMetadata();
-
-                if (damageMetadata.getDamage() > DamageMetadata.MINIMAL_DAMAGE) {
-                    isSwinging = true;
-
-                    if (isBlocking) {
-                        intelligentHandsSwing(target);
-                        location.getWorld().playSound(target, "minecraft:custom.generic.sword_guard", 0.2f, 1.0f);
-
-                        Location displayLoc = target.getEyeLocation();
-                        displayLoc.getWorld().spawnParticle(Particle.FLASH, displayLoc, 0);
-                        displayLoc.getWorld().spawnParticle(Particle.ELECTRIC_SPARK, displayLoc, 64,
-                            0.5,
-                            0.5,
-                            0.5, 0.5);
-                    }
-                    if (isKnockback) {
-                        double[] velocity = getRepulsionVelocity(caster, target);
-                        double x = velocity[0] * k;
-                        double y = velocity[1] * k + 0.1;
-                        double z = velocity[2] * k;
-                        target.setVelocity(new Vector(x, Math.min(y, 2.0), z));
-                    }
-                }
+                // the damage, knockback and feedback are applied at the end of the tick
+                plugin.getDamageQueue().enqueue(meta, target, d, k, isBlocking, shouldSwing, element, types);
+                isHit = true;
             }
             if (victim instanceof Projectile) {
                 isSwinging = true;
@@ -150,44 +182,50 @@ public final class UtilityMethod {
                 if (repulsion == 1.0) {
                     victim.remove();
                 } else if (repulsion == 2.0) {
-                    double[] velocity = getRepulsionVelocity(caster, victim);
-                    double x = velocity[0] / 2.0;
-                    double y = velocity[1] / 2.0;
-                    double z = velocity[2] / 2.0;
-                    victim.setVelocity(new Vector(x, y, z));
+                    victim.setVelocity(getRepulsionVelocity(caster, victim, new Vec3d()).multiply(0.5).toVector());
                 }
             }
+            if (ledger != null) {
+                ledger.record(victim.getEntityId(), isHit);
+            }
         }
         if (isSwinging && shouldSwing) {
             intelligentHandsSwing(caster);
         }
     }
 
-    private static void intelligentHandsSwing(LivingEntity entity) {
+    /**
+     * Swings the main hand of the given entity, and its off hand too if it is holding a weapon in it.
+     *
+     * @param entity The entity swinging its hands.
+     */
+    public static void intelligentHandsSwing(LivingEntity entity) {
         entity.swingMainHand();
         if (entity.getEquipment() != null && isWeapon(entity.getEquipment().getItemInOffHand())) {
             entity.swingOffHand();
         }
     }
 
-    public static double[] getRepulsionVelocity(Entity entity, Entity target) {
+    /**
+     * Calculates the velocity repulsing the target away from the entity.
+     *
+     * @param entity The entity repulsing the target.
+     * @param target The repulsed target.
+     * @param out    The vector receiving the velocity.
+     * @return The given {@code out} vector.
+     */
+    public static Vec3d getRepulsionVelocity(Entity entity, Entity target, Vec3d out) {
         double x = target.getX() - entity.getX();
         double y = target.getY() - entity.getY();
         double z = target.getZ() - entity.getZ();
         // calculate the distance between the entity and the target
         double dis = disManhattan(x, y, z);
         if (dis == 0.0) {
-            x = target.getVelocity().getX();
-            y = target.getVelocity().getY();
-            z = target.getVelocity().getZ();
-        } else {
-            double scale = 3.0 / dis;
-            x *= scale;
-            y *= scale;
-            z *= scale;
+            Vector velocity = target.getVelocity();
+            return out.set(velocity.getX(), velocity.getY(), velocity.getZ());
         }
         // return the resulting knockback velocity vector
-        return new double[]{x, y, z};
+        return out.set(x, y, z).multiply(3.0 / dis);
     }
 
     /**
@@ -196,74 +234,53 @@ public final class UtilityMethod {
      *
      * @param entity   The entity for which to calculate the forward velocity.
      * @param usePitch Whether or not the pitch direction for an entity should be take in consideration when ray casting.
-     * @return A Vector representing the forward velocity.
+     * @param out      The vector receiving the velocity.
+     * @return The given {@code out} vector.
      */
-    public static Vector getForwardVelocity(LivingEntity entity, boolean usePitch) {
-        double x = 0;
-        double y = 0;
-        double z = 0;
+    public static Vec3d getForwardVelocity(LivingEntity entity, boolean usePitch, Vec3d out) {
+        out.set(0, 0, 0);
 
         // if the entity is a mob, calculate the velocity towards its target
         if (entity instanceof Mob) {
             @Nullable LivingEntity target = ((Mob) entity).getTarget();
             if (target != null) {
-                x = target.getX() - entity.getX();
-                y = target.getY() - entity.getY();
-                z = target.getZ() - entity.getZ();
+                out.set(
+                    target.getX() - entity.getX(),
+                    target.getY() - entity.getY(),
+                    target.getZ() - entity.getZ()
+                );
             }
         } else {
-            Location eyeLocation = entity.getEyeLocation();
             // block the pitch at 0 to avoid the hit point location
             // being above or under the entity y when ray casting
-            if (!usePitch) {
-                eyeLocation.setPitch(0.f);
-            }
-
-            // cache the caster eye location direction for performance
-            Vector direction = eyeLocation.getDirection();
-
-            // for other entities, use ray tracing to calculate the direction
-            Location loc1 = fastRayTrace(eyeLocation, direction, 10.0);
-            Location loc2 = fastRayTrace(eyeLocation, direction, 0.0);
-            x = loc1.getX() - loc2.getX();
-            y = loc1.getY() - loc2.getY();
-            z = loc1.getZ() - loc2.getZ();
+            out.direction(entity.getYaw(), usePitch ? entity.getPitch() : 0.f);
         }
-        double dis = disManhattan(x, y, z);
+        double dis = disManhattan(out.getX(), out.getY(), out.getZ());
         if (dis == 0.0) {
-            x = 0;
-            y = 0;
-            z = 0;
+            out.set(0, 0, 0);
         } else {
-            double scale = 3.0 / dis;
-            x *= scale;
-            y *= scale;
-            z *= scale;
+            out.multiply(3.0 / dis);
         }
 
         if (!isEntityNearGround(entity)) {
-            y = Math.min(y, 0.0);
+            out.setY(Math.min(out.getY(), 0.0));
         }
 
         // adjust the velocity based on the entity's strength potion effect
         double s = 0.75 + (double) Math.min(getPotionAmplifier(entity, PotionEffectType.STRENGTH), 9) / 40;
-        x *= s;
-        y *= s;
-        z *= s;
-        return new Vector(x, y, z);
+        return out.multiply(s);
     }
 
     public static boolean isEntityNearGround(LivingEntity entity) {
-        Location location = entity.getLocation();
-        int x = location.getBlockX();
-        int y = location.getBlockY();
-        int z = location.getBlockZ();
-
-        World world = location.getWorld();
         // first, return if the entity is on the ground
         if (entity.isOnGround()) {
             return true;
         }
+        int x = Location.locToBlock(entity.getX());
+        int y = Location.locToBlock(entity.getY());
+        int z = Location.locToBlock(entity.getZ());
+
+        World world = entity.getWorld();
         // ensure for adjacent blocks
         return isSolid(world, x + 1, y, z)
             || isSolid(world, x - 1, y, z)
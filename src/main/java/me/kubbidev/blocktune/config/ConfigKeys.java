@@ -1,10 +1,21 @@
 package me.kubbidev.blocktune.config;
 
+import me.kubbidev.blocktune.entity.SpellSelection;
+import me.kubbidev.blocktune.entity.ThinkSchedule;
+import me.kubbidev.blocktune.entity.goal.GoalSet;
+import me.kubbidev.blocktune.scheduler.SpellScheduler;
+import me.kubbidev.blocktune.spell.Ability;
+import me.kubbidev.blocktune.spell.hit.DamageQueue;
+import me.kubbidev.blocktune.spell.particle.EmissionBudget;
+import me.kubbidev.blocktune.spell.particle.ParticleLod;
 import me.kubbidev.nexuspowered.config.KeyedConfiguration;
 import me.kubbidev.nexuspowered.config.key.ConfigKey;
 import me.kubbidev.nexuspowered.config.key.SimpleConfigKey;
 
 import java.util.List;
+import java.util.Locale;
+
+import static me.kubbidev.nexuspowered.config.key.ConfigKeyFactory.key;
 
 /**
  * All of the {@link ConfigKey}s used by BlockTune.
@@ -17,6 +28,135 @@ public final class ConfigKeys {
     private ConfigKeys() {
     }
 
+    /**
+     * How the damage dealt by a same caster to a same victim during one tick is merged.
+     */
+    public static final ConfigKey<DamageQueue.MergePolicy> DAMAGE_MERGE_POLICY = key(c -> {
+        String option = c.getString("damage-merge-policy", "max").toLowerCase(Locale.ROOT);
+        if (!option.equals("sum") && !option.equals("max")) {
+            option = "max";
+        }
+        return DamageQueue.MergePolicy.valueOf(option.toUpperCase(Locale.ROOT));
+    });
+
+    /**
+     * The scheduler running spell casts, boss bars and scoreboards.
+     */
+    public static final ConfigKey<SpellScheduler.Type> SPELL_SCHEDULER = key(c -> {
+        String option = c.getString("spell-scheduler", "global").toLowerCase(Locale.ROOT);
+        if (!option.equals("global") && !option.equals("entity")) {
+            option = "global";
+        }
+        return SpellScheduler.Type.valueOf(option.toUpperCase(Locale.ROOT));
+    });
+
+    /**
+     * The amount of threads computing the geometry of spells, 0 to compute it on the main thread.
+     */
+    public static final ConfigKey<Integer> SPELL_WORKER_THREADS = key(c -> Math.max(0, c.getInteger("spell-worker-threads", 0)));
+
+    /**
+     * The ticks a player has to wait between two attempts to cast a spell.
+     */
+    public static final ConfigKey<Integer> CAST_DEBOUNCE_TICKS = key(c -> Math.max(0, c.getInteger("cast-debounce-ticks", 0)));
+
+    /**
+     * When the decision layer of smart entities runs.
+     */
+    public static final ConfigKey<ThinkSchedule> THINK_SCHEDULE = key(c -> new ThinkSchedule(
+        Math.max(1, c.getInteger("smart-entity.think-interval", 4)),
+        Math.max(0, c.getInteger("smart-entity.combat-distance", 24)),
+        Math.max(0, c.getInteger("smart-entity.dormant-distance", 64)),
+        Math.max(1, c.getInteger("smart-entity.dormant-check-interval", 20))
+    ));
+
+    /**
+     * The ticks between two refreshes of the targets smart entities pick from.
+     */
+    public static final ConfigKey<Integer> TARGET_REFRESH_INTERVAL = key(c ->
+        Math.max(1, c.getInteger("smart-entity.target-refresh-interval", 5)));
+
+    /**
+     * The distance in blocks a target seems further away per smart entity already targeting it.
+     */
+    public static final ConfigKey<Integer> THREAT_SPREAD = key(c -> Math.max(0, c.getInteger("smart-entity.threat-spread", 4)));
+
+    /**
+     * How Tanjiro picks the spell it casts next, depending on the distance to its target.
+     */
+    public static final ConfigKey<SpellSelection> TANJIRO_SPELL_SELECTION = key(c -> {
+        double[][] weights = new double[SpellSelection.Band.values().length][Ability.values().length];
+        for (SpellSelection.Band band : SpellSelection.Band.values()) {
+            String path = "tanjiro.spell-weights." + band.name().toLowerCase(Locale.ROOT) + '.';
+            for (Ability ability : Ability.values()) {
+                String name = ability.name().toLowerCase(Locale.ROOT).replace('_', '-');
+                int weight = c.getInteger(path + name, defaultSpellWeight(band, ability));
+                weights[band.ordinal()][ability.ordinal()] = Math.max(0, weight);
+            }
+        }
+        return new SpellSelection(
+            Math.max(0, c.getInteger("tanjiro.close-distance", 6)),
+            Math.max(0, c.getInteger("tanjiro.far-distance", 12)),
+            weights
+        );
+    });
+
+    /**
+     * The goals Tanjiro moves with.
+     */
+    public static final ConfigKey<GoalSet> TANJIRO_GOAL_SET = key(c -> {
+        String option = c.getString("tanjiro.goal-set", "vanilla").toLowerCase(Locale.ROOT);
+        if (!option.equals("vanilla") && !option.equals("lean")) {
+            option = "vanilla";
+        }
+        return GoalSet.valueOf(option.toUpperCase(Locale.ROOT));
+    });
+
+    /**
+     * The level of detail policy applied to the particles of spells.
+     */
+    public static final ConfigKey<ParticleLod> PARTICLE_LOD = key(c -> new ParticleLod(
+        Math.max(0, c.getInteger("particle-lod.high-distance", 96)),
+        Math.max(0, c.getInteger("particle-lod.medium-distance", 48)),
+        Math.max(0, c.getInteger("particle-lod.low-distance", 24)),
+        Math.max(0, c.getInteger("particle-lod.load-threshold", 40))
+    ));
+
+    /**
+     * The amount of particle emissions a caster, chunk or player may get per tick.
+     */
+    public static final ConfigKey<EmissionBudget.Limits> PARTICLE_BUDGET = key(c -> new EmissionBudget.Limits(
+        Math.max(0, c.getInteger("emission-budget.particles.caster", 256)),
+        Math.max(0, c.getInteger("emission-budget.particles.chunk", 1024)),
+        Math.max(0, c.getInteger("emission-budget.particles.viewer", 2048))
+    ));
+
+    /**
+     * The amount of sounds a caster, chunk or player may get per tick.
+     */
+    public static final ConfigKey<EmissionBudget.Limits> SOUND_BUDGET = key(c -> new EmissionBudget.Limits(
+        Math.max(0, c.getInteger("emission-budget.sounds.caster", 8)),
+        Math.max(0, c.getInteger("emission-budget.sounds.chunk", 24)),
+        Math.max(0, c.getInteger("emission-budget.sounds.viewer", 24))
+    ));
+
+    private static int defaultSpellWeight(SpellSelection.Band band, Ability ability) {
+        return switch (band) {
+            // anything goes up close
+            case CLOSE -> 1;
+            // anything but the close range spells
+            case MID -> switch (ability) {
+                case CLEAR_BLUE_SKY, SETTING_SUN_TRANSFORMATION, SOLAR_HEAT_HAZE -> 0;
+                default -> 1;
+            };
+            // only the long range spells
+            case FAR -> switch (ability) {
+                case BENEFICENT_RADIANCE, SUN_HALO_DRAGON_HEAD_DANCE, FIRE_WHEEL -> 1;
+                default -> 0;
+            };
+        };
+    }
+
     /**
      * A list of the keys defined in this class.
      */
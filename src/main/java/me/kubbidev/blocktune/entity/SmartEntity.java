@@ -3,7 +3,9 @@ package me.kubbidev.blocktune.entity;
 import com.google.common.collect.ImmutableMap;
 import me.kubbidev.blocktune.BlockTune;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.config.ConfigKeys;
 import me.kubbidev.blocktune.event.EndSpellCastEvent;
+import me.kubbidev.blocktune.spell.Ability;
 import me.kubbidev.nexuspowered.Events;
 import net.minecraft.core.Holder;
 import net.minecraft.sounds.SoundEvent;
@@ -17,6 +19,8 @@ import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.level.storage.ValueOutput;
+import net.minecraft.world.phys.Vec3;
 import org.bukkit.Location;
 import org.bukkit.craftbukkit.CraftWorld;
 import org.bukkit.craftbukkit.entity.CraftLivingEntity;
@@ -35,19 +39,28 @@ public abstract class SmartEntity extends Zombie {
             .handler(e -> {
                 LivingEntity entity = ((CraftLivingEntity) e.getEntity()).getHandle();
                 if (entity instanceof SmartEntity) {
-                    ((SmartEntity) entity).m = 0;
+                    ((SmartEntity) entity).pendingAbility = null;
                 }
             });
     }
 
     protected final BlockTune plugin;
+    // the point the entity was spawned at, which it returns to once out of combat
+    private final   Vec3      home;
 
-    public int m = 0;
-    public int x = 0;
+    // the ability picked to be cast next, null while none is
+    @Nullable
+    protected Ability pendingAbility;
+    public    int     x = 0;
+
+    // the tick the decision layer last ran at, -1 before it ever ran
+    private int lastThinkTick = -1;
+    private Lod lod           = Lod.ACTIVE;
 
     public SmartEntity(BlockTune plugin, Location location) {
         super(EntityType.ZOMBIE, ((CraftWorld) location.getWorld()).getHandle());
         this.plugin = plugin;
+        this.home = new Vec3(location.getX(), location.getY(), location.getZ());
         setPos(
             location.getX(),
             location.getY(),
@@ -71,6 +84,10 @@ public abstract class SmartEntity extends Zombie {
         return this.plugin;
     }
 
+    public @NotNull Vec3 getHome() {
+        return this.home;
+    }
+
     @NotNull
     public abstract AttributeMap createAdditionalAttributes();
 
@@ -98,12 +115,107 @@ public abstract class SmartEntity extends Zombie {
         if (!isAlive()) {
             return;
         }
+        // physics and animations run every tick, decisions only on the tick of the entity unless it is in combat
+        ThinkSchedule schedule = this.plugin.getConfiguration().get(ConfigKeys.THINK_SCHEDULE);
+        if (this.lod == Lod.DORMANT) {
+            if (!shouldWakeUp(schedule)) {
+                return;
+            }
+            wakeUp();
+        }
+        boolean inCombat = isInCombat(schedule);
+        if (!inCombat && !schedule.isThinkTick(getId(), this.tickCount)) {
+            return;
+        }
+        if (!inCombat && schedule.isDormancyEnabled() && getTarget() == null && !isPlayerNearby(schedule)) {
+            fallDormant();
+            return;
+        }
+        int elapsed = this.lastThinkTick == -1 ? 1 : this.tickCount - this.lastThinkTick;
+        this.lastThinkTick = this.tickCount;
+        think(elapsed);
+    }
+
+    /**
+     * Gets the level of detail this entity is currently ticked with.
+     */
+    public @NotNull Lod getLod() {
+        return this.lod;
+    }
+
+    private boolean shouldWakeUp(ThinkSchedule schedule) {
+        // hurt by anything, or dormancy got disabled by a reload
+        if (this.hurtTime > 0 || !schedule.isDormancyEnabled()) {
+            return true;
+        }
+        if (!schedule.isDormantCheckTick(getId(), this.tickCount)) {
+            return false;
+        }
+        if (isPlayerNearby(schedule)) {
+            return true;
+        }
+        // the target goals are paused with every other goal, run them at the pace of the checks
+        this.targetSelector.tick();
+        return getTarget() != null;
+    }
+
+    private boolean isPlayerNearby(ThinkSchedule schedule) {
+        return level().hasNearbyAlivePlayer(getX(), getY(), getZ(), schedule.getDormantDistance());
+    }
+
+    private void fallDormant() {
+        this.lod = Lod.DORMANT;
+        // goal selectors and navigation are skipped by the server while the mob is not aware
+        this.aware = false;
+        getNavigation().stop();
+    }
+
+    private void wakeUp() {
+        this.lod = Lod.ACTIVE;
+        this.aware = true;
+        // timers of the decision layer do not count the ticks spent dormant
+        this.lastThinkTick = -1;
+    }
+
+    @Override
+    public void addAdditionalSaveData(@NotNull ValueOutput output) {
+        // dormancy is not saved, the entity is awake once loaded again
+        boolean aware = this.aware;
+        this.aware = true;
+        super.addAdditionalSaveData(output);
+        this.aware = aware;
+    }
+
+    /**
+     * Gets whether this entity is in combat, and thinks every tick.
+     *
+     * @param schedule the schedule of the decision layer
+     */
+    protected boolean isInCombat(@NotNull ThinkSchedule schedule) {
+        // a spell is waiting to be cast
+        if (this.pendingAbility != null) {
+            return true;
+        }
+        // forgotten by vanilla 100 ticks after the last hit
+        if (getLastHurtByMob() != null) {
+            return true;
+        }
+        @Nullable LivingEntity target = getTarget();
+        return target != null && schedule.isInCombatRange(target.distanceToSqr(this));
+    }
+
+    /**
+     * Runs the decision layer of this entity.
+     *
+     * @param elapsed the ticks elapsed since the last time the decision layer ran
+     */
+    protected void think(int elapsed) {
         if (!hasEffect(MobEffects.SPEED)) {
             addEffect(new MobEffectInstance(MobEffects.SPEED, -1, 0, false, false));
         }
 
         @Nullable LivingEntity target = getTarget();
-        if (target != null && target.distanceToSqr(this) > (18 * 18) && this.m == 0) {
+        if (target != null && target.distanceToSqr(this) > (18 * 18) && this.pendingAbility == null) {
             int level = 0;
 
             MobEffectInstance instance = getEffect(MobEffects.STRENGTH);
@@ -120,6 +232,22 @@ public abstract class SmartEntity extends Zombie {
         }
     }
 
+    /**
+     * The level of detail a smart entity is ticked with.
+     */
+    public enum Lod {
+
+        /**
+         * The entity thinks and runs its goals.
+         */
+        ACTIVE,
+
+        /**
+         * No player is around, the entity only checks from time to time whether it should wake up.
+         */
+        DORMANT
+    }
+
     public static class AttributeMap {
 
         private final ImmutableMap.Builder<Holder<Attribute>, Double> builder = ImmutableMap.builder();
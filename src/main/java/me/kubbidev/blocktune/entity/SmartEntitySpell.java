@@ -1,6 +1,7 @@
 package me.kubbidev.blocktune.entity;
 
 import me.kubbidev.blocktune.spell.Ability;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.spellcaster.SpellCasterProvider;
 import me.kubbidev.spellcaster.spell.Spell;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -34,6 +35,7 @@ public final class SmartEntitySpell extends Spell {
 
     @Override
     public double getParameter(String path) {
-        return this.ability.getParameters().getOrDefault(path, 0d);
+        AbilityParameter parameter = AbilityParameter.byKey(path);
+        return parameter == null ? 0d : this.ability.parameter(parameter);
     }
 }
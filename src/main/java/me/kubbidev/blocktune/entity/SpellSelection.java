@@ -0,0 +1,85 @@
+package me.kubbidev.blocktune.entity;
+
+import me.kubbidev.blocktune.spell.Ability;
+import me.kubbidev.blocktune.util.AliasTable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * How a smart entity picks the spell it casts next, depending on the distance to its target.
+ * <p>
+ * The distance to the target falls in one of three bands, each with its own weight per {@link Ability}, and the weights of each band
+ * are turned into an {@link AliasTable} once, so that picking a spell takes a constant time whatever the weights.
+ */
+@ApiStatus.Internal
+public final class SpellSelection {
+
+    private static final Ability[] ABILITIES = Ability.values();
+
+    /**
+     * A range of distances to the target.
+     */
+    public enum Band {
+
+        /**
+         * Within the close distance of the target.
+         */
+        CLOSE,
+
+        /**
+         * Between the close and the far distances of the target.
+         */
+        MID,
+
+        /**
+         * Beyond the far distance of the target.
+         */
+        FAR
+    }
+
+    private final double closeDistanceSquared;
+    private final double farDistanceSquared;
+
+    // band ordinal -> table picking ability ordinals
+    private final AliasTable[] tables = new AliasTable[Band.values().length];
+
+    /**
+     * Creates a new selection.
+     *
+     * @param closeDistance the distance within which the target is close
+     * @param farDistance   the distance beyond which the target is far
+     * @param weights       band ordinal -> ability ordinal -> weight of the ability in the band
+     */
+    public SpellSelection(double closeDistance, double farDistance, double[] @NotNull [] weights) {
+        this.closeDistanceSquared = closeDistance * closeDistance;
+        this.farDistanceSquared = farDistance * farDistance;
+        for (Band band : Band.values()) {
+            this.tables[band.ordinal()] = new AliasTable(weights[band.ordinal()]);
+        }
+    }
+
+    /**
+     * Gets the band an entity at the given squared distance of its target falls in.
+     */
+    public @NotNull Band band(double distanceSquared) {
+        if (distanceSquared > this.farDistanceSquared) {
+            return Band.FAR;
+        }
+        return distanceSquared <= this.closeDistanceSquared ? Band.CLOSE : Band.MID;
+    }
+
+    /**
+     * Picks the spell an entity at the given squared distance of its target casts next.
+     *
+     * @param distanceSquared the squared distance to the target
+     * @param random          the source of randomness
+     * @return the ability to cast, or null if every ability of the band has a weight of zero
+     */
+    public @Nullable Ability select(double distanceSquared, @NotNull RandomGenerator random) {
+        int ordinal = this.tables[band(distanceSquared).ordinal()].next(random);
+        return ordinal == -1 ? null : ABILITIES[ordinal];
+    }
+}
@@ -2,6 +2,13 @@ package me.kubbidev.blocktune.entity;
 
 import com.google.common.base.Preconditions;
 import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.BlockTuneProvider;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.blocktune.entity.goal.CombatStrafeGoal;
+import me.kubbidev.blocktune.entity.goal.GoalSet;
+import me.kubbidev.blocktune.entity.goal.IndexedTargetGoal;
+import me.kubbidev.blocktune.entity.goal.LeashToHomeGoal;
+import me.kubbidev.blocktune.entity.goal.SpellApproachGoal;
 import me.kubbidev.blocktune.spell.SpellMetadataProvider;
 import me.kubbidev.blocktune.spell.Ability;
 import me.kubbidev.spellcaster.spell.Spell;
@@ -12,9 +19,6 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.ai.goal.*;
 import net.minecraft.world.entity.ai.goal.target.HurtByTargetGoal;
-import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
-import net.minecraft.world.entity.monster.Monster;
-import net.minecraft.world.entity.player.Player;
 import org.bukkit.Location;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -41,15 +45,26 @@ public final class TanjiroEntity extends SmartEntity {
 
     @Override
     protected void registerGoals() {
-        this.goalSelector.addGoal(2, new MeleeAttackGoal(this, 1.2, true));
-        this.goalSelector.addGoal(47, new RandomLookAroundGoal(this));
-        this.goalSelector.addGoal(48, new FloatGoal(this));
-        this.goalSelector.addGoal(49, new MoveBackToVillageGoal(this, 0.6, false));
-        this.goalSelector.addGoal(50, new OpenDoorGoal(this, true));
+        // goals are registered by the constructor of the mob, before the plugin is set
+        GoalSet goalSet = BlockTuneProvider.get().getConfiguration().get(ConfigKeys.TANJIRO_GOAL_SET);
+        if (goalSet == GoalSet.LEAN) {
+            this.goalSelector.addGoal(2, new SpellApproachGoal(this, 1.2, 4.0, 2.0));
+            this.goalSelector.addGoal(3, new CombatStrafeGoal(this, 4.0));
+            this.goalSelector.addGoal(4, new LeashToHomeGoal(this, 1.0, 24.0));
+            this.goalSelector.addGoal(47, new RandomLookAroundGoal(this));
+            this.goalSelector.addGoal(48, new FloatGoal(this));
+        } else {
+            this.goalSelector.addGoal(2, new MeleeAttackGoal(this, 1.2, true));
+            this.goalSelector.addGoal(47, new RandomLookAroundGoal(this));
+            this.goalSelector.addGoal(48, new FloatGoal(this));
+            this.goalSelector.addGoal(49, new MoveBackToVillageGoal(this, 0.6, false));
+            this.goalSelector.addGoal(50, new OpenDoorGoal(this, true));
+        }
 
         this.targetSelector.addGoal(3, new HurtByTargetGoal(this).setAlertOthers(getClass()));
-        this.targetSelector.addGoal(6, new NearestAttackableTargetGoal<>(this, Player.class, false, false));
-        this.targetSelector.addGoal(7, new NearestAttackableTargetGoal<>(this, Monster.class, false, false));
+        // look for targets in the index shared by every smart entity of the world rather than around each entity
+        this.targetSelector.addGoal(6, new IndexedTargetGoal(this, TargetIndex.Kind.PLAYER));
+        this.targetSelector.addGoal(7, new IndexedTargetGoal(this, TargetIndex.Kind.MONSTER));
     }
 
     @Override
@@ -78,84 +93,42 @@ public final class TanjiroEntity extends SmartEntity {
 
     @SuppressWarnings("resource")
     @Override
-    public void baseTick() {
-        super.baseTick();
-        if (!isAlive()) {
-            return;
-        }
+    protected void think(int elapsed) {
+        super.think(elapsed);
         double x = getX();
         double y = getY();
         double z = getZ();
         ServerLevel instance = (ServerLevel) level();
         tickDirection(this);
 
-        if (this.m == 0) {
+        if (this.pendingAbility == null) {
             @Nullable LivingEntity target = getTarget();
             if (target == null) {
                 if (this.x > this.attackLimit) {
                     this.x = this.attackLimit;
                 }
             } else {
-                this.x++;
+                // the attack timer keeps counting ticks whatever the think interval
+                this.x += elapsed;
                 if (this.x > this.breathSpeed && Math.random() < 0.5) {
                     instance.sendParticles(ParticleTypes.CLOUD, x, y + 1.6, z, 0, 0, 0, 0, 0);
                 }
                 if (this.x > this.attackSpeed) {
                     this.x = 0;
 
-                    int s;
-                    while (true) {
-                        s = this.random.nextInt(12);
-
-                        var distance = target.distanceToSqr(this);
-                        if (distance > (12 * 12)) {
-                            // high distance (only high range spell)
-                            if (s == 6 || s == 8 || s == 9) {
-                                break;
-                            }
-                        } else {
-                            // close distance (accept anything)
-                            if (distance <= (6 * 6)) {
-                                break;
-                            }
-                            // mid distance (anything except close range spell)
-                            if (s != 1 && s != 4 && s != 5 && s != 10 && s != 11) {
-                                break;
-                            }
-                        }
-                    }
-                    this.m = s;
+                    SpellSelection selection = this.plugin.getConfiguration().get(ConfigKeys.TANJIRO_SPELL_SELECTION);
+                    this.pendingAbility = selection.select(target.distanceToSqr(this), this.random);
                 }
             }
         } else {
-            if (!SpellMetadataProvider.isCasting(getBukkitLivingEntity())) {
-                Ability ability = selectAbility();
-                if (ability == null) {
-                    // todo remove this in future
-                    this.plugin.getLogger().info("Selected a null ability: " + this.m);
-                    this.m = 0;
-                } else {
-                    Spell spell = new SmartEntitySpell(ability);
-                    spell.cast(getBukkitLivingEntity());
-                }
+            // the end of the cast clears the pending ability
+            Ability ability = this.pendingAbility;
+            if (!SpellMetadataProvider.isCasting(getBukkitLivingEntity())
+                && !this.plugin.getCooldownStore().isOnCooldown(getBukkitLivingEntity(), ability)) {
+                Spell spell = this.plugin.getPreparedSpells().forEntity(ability);
+                spell.cast(getBukkitLivingEntity());
+                this.plugin.getCooldownStore().sync(getBukkitLivingEntity(), ability);
             }
         }
     }
-
-    private @Nullable Ability selectAbility() {
-        return switch (this.m) {
-            case 0 -> Ability.DANCE;
-            case 1 -> Ability.CLEAR_BLUE_SKY;
-            case 2 -> Ability.RAGING_SUN;
-            case 3 -> Ability.BURNING_BONES_SUMMER_SUN;
-            case 4 -> Ability.SETTING_SUN_TRANSFORMATION;
-            case 5 -> Ability.SOLAR_HEAT_HAZE;
-            case 6 -> Ability.BENEFICENT_RADIANCE;
-            case 7 -> Ability.SUNFLOWER_THRUST;
-            case 8 -> Ability.SUN_HALO_DRAGON_HEAD_DANCE;
-            case 9 -> Ability.FIRE_WHEEL;
-            case 10, 11 -> null;
-            default -> throw new IllegalStateException("Unexpected value: " + this.m);
-        };
-    }
 }
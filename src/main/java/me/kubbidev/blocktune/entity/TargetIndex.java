@@ -0,0 +1,189 @@
+package me.kubbidev.blocktune.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import me.kubbidev.blocktune.util.SpatialHash;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.targeting.TargetingConditions;
+import net.minecraft.world.entity.monster.Monster;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A snapshot of the players and monsters of a world smart entities may target, bucketed by cell, along with the threat on each of them.
+ * <p>
+ * The snapshot is rebuilt lazily, at most once every few ticks, by a single pass over the entities of the world. Looking for a target then
+ * only visits the cells around the looking entity, so that the target goals of every smart entity of the world share a single pass
+ * instead of each scanning the entities around it.
+ * <p>
+ * The threat on a target is the amount of smart entities targeting it when the snapshot was taken. Targets seem further away the more
+ * threat they have, so that a group spreads over the targets around it without any entity comparing itself with the others.
+ */
+@ApiStatus.Internal
+public final class TargetIndex {
+
+    // 16 blocks wide cells, as entities look for targets up to their follow range
+    private static final int CELL_SHIFT = 4;
+
+    /**
+     * A kind of target.
+     */
+    public enum Kind {
+
+        /**
+         * Players.
+         */
+        PLAYER,
+
+        /**
+         * Monsters, smart entities included.
+         */
+        MONSTER
+    }
+
+    private final ServerLevel level;
+
+    // kind ordinal -> targets of that kind, and their position
+    private final SpatialHash[]    hashes   = new SpatialHash[Kind.values().length];
+    private final LivingEntity[][] entities = new LivingEntity[Kind.values().length][64];
+
+    // target id -> smart entities targeting it
+    private final Int2IntOpenHashMap threat = new Int2IntOpenHashMap();
+
+    private int builtTick = -1;
+
+    // the state of the running search, read by the visitor
+    private final IntConsumer         visitor = this::visit;
+    private       Kind                searchKind;
+    private       Mob                 searcher;
+    private       TargetingConditions searchConditions;
+    private       double              searchSpread;
+    private       LivingEntity        best;
+    private       double              bestScore;
+
+    TargetIndex(@NotNull ServerLevel level) {
+        this.level = level;
+        for (Kind kind : Kind.values()) {
+            this.hashes[kind.ordinal()] = new SpatialHash(CELL_SHIFT);
+        }
+    }
+
+    /**
+     * Rebuilds the index if it is older than the given amount of ticks.
+     *
+     * @param interval the ticks a snapshot is kept for
+     */
+    public void ensureBuilt(int interval) {
+        int tick = Bukkit.getCurrentTick();
+        if (this.builtTick == -1 || tick - this.builtTick >= interval || tick < this.builtTick) {
+            this.builtTick = tick;
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        int[] previousSizes = new int[this.hashes.length];
+        for (int i = 0; i < this.hashes.length; i++) {
+            previousSizes[i] = this.hashes[i].size();
+            this.hashes[i].clear();
+        }
+        this.threat.clear();
+
+        for (ServerPlayer player : this.level.players()) {
+            if (player.isAlive()) {
+                add(Kind.PLAYER, player);
+            }
+        }
+        for (Entity entity : this.level.getAllEntities()) {
+            if (!(entity instanceof Monster monster) || !monster.isAlive()) {
+                continue;
+            }
+            add(Kind.MONSTER, monster);
+            if (monster instanceof SmartEntity && monster.getTarget() != null) {
+                this.threat.addTo(monster.getTarget().getId(), 1);
+            }
+        }
+
+        for (int i = 0; i < this.hashes.length; i++) {
+            this.hashes[i].build();
+            // release references to entities which are not part of this snapshot anymore
+            int size = this.hashes[i].size();
+            if (previousSizes[i] > size) {
+                Arrays.fill(this.entities[i], size, previousSizes[i], null);
+            }
+        }
+    }
+
+    private void add(Kind kind, LivingEntity entity) {
+        int index = this.hashes[kind.ordinal()].add(entity.getX(), entity.getY(), entity.getZ());
+        LivingEntity[] entities = this.entities[kind.ordinal()];
+        if (index == entities.length) {
+            this.entities[kind.ordinal()] = entities = Arrays.copyOf(entities, index << 1);
+        }
+        entities[index] = entity;
+    }
+
+    /**
+     * Gets the amount of smart entities which were targeting the given entity when the snapshot was taken.
+     */
+    public int getThreat(@NotNull LivingEntity target) {
+        return this.threat.get(target.getId());
+    }
+
+    /**
+     * Finds the best target of the given kind for the given entity.
+     * <p>
+     * Candidates are compared by their distance to the entity, increased by the given spread for every smart entity targeting them.
+     *
+     * @param kind       the kind of target to find
+     * @param searcher   the entity looking for a target
+     * @param conditions the conditions a target must meet
+     * @param range      the distance within which to look for a target
+     * @param spread     the distance a target seems further away per smart entity targeting it
+     * @return the best target, or null if no candidate meets the conditions
+     */
+    public @Nullable LivingEntity findTarget(@NotNull Kind kind, @NotNull Mob searcher, @NotNull TargetingConditions conditions,
+                                             double range, double spread) {
+        this.searchKind = kind;
+        this.searcher = searcher;
+        this.searchConditions = conditions;
+        this.searchSpread = spread;
+        this.best = null;
+        this.bestScore = Double.POSITIVE_INFINITY;
+        try {
+            this.hashes[kind.ordinal()].query(searcher.getX(), searcher.getY(), searcher.getZ(), range, this.visitor);
+            return this.best;
+        } finally {
+            this.searcher = null;
+            this.searchConditions = null;
+            this.best = null;
+        }
+    }
+
+    private void visit(int index) {
+        LivingEntity candidate = this.entities[this.searchKind.ordinal()][index];
+        // the snapshot may be a few ticks old, the candidate may have been removed or changed worlds since
+        if (candidate == this.searcher || !candidate.isAlive() || candidate.isRemoved() || candidate.level() != this.level) {
+            return;
+        }
+        int threat = this.threat.get(candidate.getId());
+        // the entity does not compete with itself for its own target
+        if (candidate == this.searcher.getTarget()) {
+            threat--;
+        }
+        double score = Math.sqrt(candidate.distanceToSqr(this.searcher)) + this.searchSpread * Math.max(0, threat);
+        // the conditions may trace a line of sight, they are only tested for better candidates
+        if (score < this.bestScore && this.searchConditions.test(this.level, this.searcher, candidate)) {
+            this.best = candidate;
+            this.bestScore = score;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package me.kubbidev.blocktune.entity;
+
+import net.minecraft.server.level.ServerLevel;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link TargetIndex} of every loaded world.
+ */
+@ApiStatus.Internal
+public class TargetIndexManager implements Listener {
+
+    // world uuid -> target index, created on first use
+    private final Map<UUID, TargetIndex> indexes = new ConcurrentHashMap<>();
+
+    public @NotNull TargetIndex getIndex(@NotNull ServerLevel level) {
+        return this.indexes.computeIfAbsent(level.getWorld().getUID(), uuid -> new TargetIndex(level));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent e) {
+        this.indexes.remove(e.getWorld().getUID());
+    }
+}
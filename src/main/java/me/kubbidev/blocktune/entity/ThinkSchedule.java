@@ -0,0 +1,84 @@
+package me.kubbidev.blocktune.entity;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * When the decision layer of a {@link SmartEntity} runs.
+ * <p>
+ * Smart entities are spread over {@code interval} buckets by entity id, and each bucket thinks on its own tick of the interval, so that
+ * the cost of a crowd of entities is split evenly across ticks instead of being paid every tick. Entities in combat are promoted out of
+ * their bucket and think every tick, which keeps fights as responsive as before.
+ * <p>
+ * Entities with no player around fall dormant: they stop thinking and their goals are paused, and they only look for a target or a
+ * player once every {@code dormantInterval} ticks.
+ */
+@ApiStatus.Internal
+public final class ThinkSchedule {
+
+    // the ticks between two thoughts of an entity out of combat
+    private final int    interval;
+    // the squared distance under which an entity is in combat with its target
+    private final double combatDistanceSquared;
+
+    // the distance a player has to be within to keep an entity awake, 0 to never fall dormant
+    private final double dormantDistance;
+    // the ticks between two wake up checks of a dormant entity
+    private final int    dormantInterval;
+
+    /**
+     * Creates a new schedule.
+     *
+     * @param interval        the ticks between two thoughts of an entity out of combat, 1 to think every tick
+     * @param combatDistance  the distance under which an entity is in combat with its target
+     * @param dormantDistance the distance a player has to be within to keep an entity awake, 0 to never fall dormant
+     * @param dormantInterval the ticks between two wake up checks of a dormant entity
+     */
+    public ThinkSchedule(int interval, double combatDistance, double dormantDistance, int dormantInterval) {
+        this.interval = Math.max(1, interval);
+        this.combatDistanceSquared = combatDistance * combatDistance;
+        this.dormantDistance = dormantDistance;
+        this.dormantInterval = Math.max(1, dormantInterval);
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Gets whether entities fall dormant when no player is around.
+     */
+    public boolean isDormancyEnabled() {
+        return this.dormantDistance > 0;
+    }
+
+    public double getDormantDistance() {
+        return this.dormantDistance;
+    }
+
+    /**
+     * Gets whether the given tick is the one the bucket of the given entity thinks at.
+     *
+     * @param entityId the id of the entity
+     * @param tick     the current tick of the entity
+     */
+    public boolean isThinkTick(int entityId, int tick) {
+        return this.interval == 1 || Math.floorMod(entityId + tick, this.interval) == 0;
+    }
+
+    /**
+     * Gets whether the given tick is the one a dormant entity checks whether it should wake up at.
+     *
+     * @param entityId the id of the entity
+     * @param tick     the current tick of the entity
+     */
+    public boolean isDormantCheckTick(int entityId, int tick) {
+        return this.dormantInterval == 1 || Math.floorMod(entityId + tick, this.dormantInterval) == 0;
+    }
+
+    /**
+     * Gets whether an entity at the given squared distance of its target is in combat with it.
+     */
+    public boolean isInCombatRange(double distanceSquared) {
+        return distanceSquared <= this.combatDistanceSquared;
+    }
+}
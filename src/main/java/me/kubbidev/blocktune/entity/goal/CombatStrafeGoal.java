@@ -0,0 +1,95 @@
+package me.kubbidev.blocktune.entity.goal;
+
+import me.kubbidev.blocktune.entity.SmartEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+
+/**
+ * Circles a smart entity around its target once close to it, hitting the target whenever it is within reach.
+ * <p>
+ * Strafing goes through the move control of the entity, so that no path is ever computed while the entity stays close to its target.
+ * The entity closes in whenever its attack is ready, and backs off while it cools down.
+ */
+@ApiStatus.Internal
+public class CombatStrafeGoal extends Goal {
+
+    // the ticks between two melee hits
+    private static final int ATTACK_INTERVAL = 20;
+
+    private final SmartEntity entity;
+    private final double      strafeDistanceSquared;
+    // the squared distance under which the entity backs off while its attack cools down
+    private final double      backOffDistanceSquared;
+
+    private boolean clockwise;
+    private int     strafeTime;
+    private int     attackCooldown;
+
+    public CombatStrafeGoal(@NotNull SmartEntity entity, double strafeDistance) {
+        this.entity = entity;
+        this.strafeDistanceSquared = strafeDistance * strafeDistance;
+        this.backOffDistanceSquared = this.strafeDistanceSquared / 4.0;
+        setFlags(EnumSet.of(Flag.MOVE, Flag.LOOK));
+    }
+
+    @Override
+    public boolean canUse() {
+        @Nullable LivingEntity target = this.entity.getTarget();
+        return target != null && target.isAlive() && this.entity.distanceToSqr(target) <= this.strafeDistanceSquared;
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        return canUse();
+    }
+
+    @Override
+    public boolean requiresUpdateEveryTick() {
+        return true;
+    }
+
+    @Override
+    public void start() {
+        this.entity.getNavigation().stop();
+        this.strafeTime = 0;
+    }
+
+    @Override
+    public void tick() {
+        @Nullable LivingEntity target = this.entity.getTarget();
+        if (target == null) {
+            return;
+        }
+        this.entity.getLookControl().setLookAt(target, 30.0F, 30.0F);
+
+        // change the direction from time to time, so that the entity is harder to predict
+        if (--this.strafeTime <= 0) {
+            this.strafeTime = 20 + this.entity.getRandom().nextInt(20);
+            this.clockwise = this.entity.getRandom().nextBoolean();
+        }
+        boolean inReach = this.entity.isWithinMeleeAttackRange(target);
+        float forward;
+        if (this.attackCooldown == 0) {
+            // the back off distance is beyond melee reach, the entity closes in whenever it can hit
+            forward = inReach ? 0.0F : 0.5F;
+        } else {
+            forward = this.entity.distanceToSqr(target) < this.backOffDistanceSquared ? -0.5F : 0.0F;
+        }
+        this.entity.getMoveControl().strafe(forward, this.clockwise ? 0.5F : -0.5F);
+
+        if (this.attackCooldown > 0) {
+            this.attackCooldown--;
+        } else if (inReach && this.entity.getSensing().hasLineOfSight(target)) {
+            this.attackCooldown = adjustedTickDelay(ATTACK_INTERVAL);
+            this.entity.swing(InteractionHand.MAIN_HAND);
+            this.entity.doHurtTarget((ServerLevel) this.entity.level(), target);
+        }
+    }
+}
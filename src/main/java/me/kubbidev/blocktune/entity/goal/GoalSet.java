@@ -0,0 +1,17 @@
+package me.kubbidev.blocktune.entity.goal;
+
+/**
+ * The goals a smart entity moves with.
+ */
+public enum GoalSet {
+
+    /**
+     * The vanilla goals, which look for villages and doors around the entity.
+     */
+    VANILLA,
+
+    /**
+     * The goals of BlockTune, which only path towards the target or the home of the entity when they move away.
+     */
+    LEAN
+}
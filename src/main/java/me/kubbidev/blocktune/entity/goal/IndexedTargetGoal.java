@@ -0,0 +1,80 @@
+package me.kubbidev.blocktune.entity.goal;
+
+import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.blocktune.entity.SmartEntity;
+import me.kubbidev.blocktune.entity.TargetIndex;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.target.TargetGoal;
+import net.minecraft.world.entity.ai.targeting.TargetingConditions;
+import org.bukkit.event.entity.EntityTargetEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+
+/**
+ * Targets the nearest player or monster of the {@link TargetIndex} of the world, the replacement of
+ * {@link net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal} for smart entities.
+ * <p>
+ * Like the vanilla goal, the target is looked for once every half second on average, within the follow range of the entity and without
+ * requiring a line of sight. A dormant entity looks for a target on every one of its wake up checks instead.
+ */
+@ApiStatus.Internal
+public class IndexedTargetGoal extends TargetGoal {
+
+    // the average ticks between two searches
+    private static final int SEARCH_INTERVAL = 10;
+
+    private final SmartEntity         entity;
+    private final TargetIndex.Kind    kind;
+    private final TargetingConditions conditions = TargetingConditions.forCombat();
+
+    @Nullable
+    private LivingEntity target;
+
+    public IndexedTargetGoal(@NotNull SmartEntity entity, @NotNull TargetIndex.Kind kind) {
+        super(entity, false, false);
+        this.entity = entity;
+        this.kind = kind;
+        setFlags(EnumSet.of(Flag.TARGET));
+    }
+
+    @Override
+    public boolean canUse() {
+        // a dormant entity only runs its target goals at the pace of its wake up checks, each of which searches
+        if (this.entity.getLod() != SmartEntity.Lod.DORMANT
+            && this.entity.getRandom().nextInt(reducedTickDelay(SEARCH_INTERVAL)) != 0) {
+            return false;
+        }
+        // goals are registered before the plugin is set, it is only read once the entity ticks
+        BlockTune plugin = this.entity.getPlugin();
+        ServerLevel level = (ServerLevel) this.entity.level();
+
+        TargetIndex index = plugin.getTargetIndexManager().getIndex(level);
+        index.ensureBuilt(plugin.getConfiguration().get(ConfigKeys.TARGET_REFRESH_INTERVAL));
+
+        double range = getFollowDistance();
+        this.conditions.range(range);
+        this.target = index.findTarget(this.kind, this.entity, this.conditions, range,
+            plugin.getConfiguration().get(ConfigKeys.THREAT_SPREAD));
+        return this.target != null;
+    }
+
+    @Override
+    public void start() {
+        this.entity.setTarget(this.target, this.target instanceof ServerPlayer
+            ? EntityTargetEvent.TargetReason.CLOSEST_PLAYER
+            : EntityTargetEvent.TargetReason.CLOSEST_ENTITY);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        this.target = null;
+    }
+}
@@ -0,0 +1,50 @@
+package me.kubbidev.blocktune.entity.goal;
+
+import me.kubbidev.blocktune.entity.SmartEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+
+/**
+ * Walks a smart entity without a target back to its home once it strayed too far from it.
+ * <p>
+ * The home never moves, so the path is computed once when the goal starts and followed until the entity is back.
+ */
+@ApiStatus.Internal
+public class LeashToHomeGoal extends Goal {
+
+    private final SmartEntity entity;
+    private final double      speed;
+    private final double      leashDistanceSquared;
+
+    public LeashToHomeGoal(@NotNull SmartEntity entity, double speed, double leashDistance) {
+        this.entity = entity;
+        this.speed = speed;
+        this.leashDistanceSquared = leashDistance * leashDistance;
+        setFlags(EnumSet.of(Flag.MOVE));
+    }
+
+    @Override
+    public boolean canUse() {
+        return this.entity.getTarget() == null && this.entity.distanceToSqr(this.entity.getHome()) > this.leashDistanceSquared;
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        return this.entity.getTarget() == null && !this.entity.getNavigation().isDone();
+    }
+
+    @Override
+    public void start() {
+        Vec3 home = this.entity.getHome();
+        this.entity.getNavigation().moveTo(home.x, home.y, home.z, this.speed);
+    }
+
+    @Override
+    public void stop() {
+        this.entity.getNavigation().stop();
+    }
+}
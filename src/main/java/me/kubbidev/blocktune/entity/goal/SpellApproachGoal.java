@@ -0,0 +1,97 @@
+package me.kubbidev.blocktune.entity.goal;
+
+import me.kubbidev.blocktune.entity.SmartEntity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+
+/**
+ * Walks a smart entity towards its target until it is close enough to strafe around it, within range of every spell.
+ * <p>
+ * The position the current path leads to is kept, and a new path is only computed once the target moved further than the repath
+ * distance from it, or once the path is done, instead of every few ticks.
+ */
+@ApiStatus.Internal
+public class SpellApproachGoal extends Goal {
+
+    // the ticks to wait before computing a path again when no path to the target was found
+    private static final int FAILED_PATH_DELAY = 20;
+
+    private final SmartEntity entity;
+    private final double      speed;
+    private final double      stopDistanceSquared;
+    private final double      repathDistanceSquared;
+
+    // the position of the target the current path was computed for
+    private double  pathX;
+    private double  pathY;
+    private double  pathZ;
+    private boolean hasPath;
+    private int     repathDelay;
+
+    public SpellApproachGoal(@NotNull SmartEntity entity, double speed, double stopDistance, double repathDistance) {
+        this.entity = entity;
+        this.speed = speed;
+        this.stopDistanceSquared = stopDistance * stopDistance;
+        this.repathDistanceSquared = repathDistance * repathDistance;
+        setFlags(EnumSet.of(Flag.MOVE, Flag.LOOK));
+    }
+
+    @Override
+    public boolean canUse() {
+        @Nullable LivingEntity target = this.entity.getTarget();
+        return target != null && target.isAlive() && this.entity.distanceToSqr(target) > this.stopDistanceSquared;
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        return canUse();
+    }
+
+    @Override
+    public boolean requiresUpdateEveryTick() {
+        return true;
+    }
+
+    @Override
+    public void start() {
+        this.hasPath = false;
+        this.repathDelay = 0;
+    }
+
+    @Override
+    public void stop() {
+        this.entity.getNavigation().stop();
+        this.hasPath = false;
+    }
+
+    @Override
+    public void tick() {
+        @Nullable LivingEntity target = this.entity.getTarget();
+        if (target == null) {
+            return;
+        }
+        this.entity.getLookControl().setLookAt(target, 30.0F, 30.0F);
+        if (this.repathDelay > 0) {
+            this.repathDelay--;
+            return;
+        }
+        double dx = target.getX() - this.pathX;
+        double dy = target.getY() - this.pathY;
+        double dz = target.getZ() - this.pathZ;
+        if (this.hasPath && dx * dx + dy * dy + dz * dz <= this.repathDistanceSquared && !this.entity.getNavigation().isDone()) {
+            return;
+        }
+        this.pathX = target.getX();
+        this.pathY = target.getY();
+        this.pathZ = target.getZ();
+        this.hasPath = this.entity.getNavigation().moveTo(target, this.speed);
+        if (!this.hasPath) {
+            this.repathDelay = FAILED_PATH_DELAY;
+        }
+    }
+}
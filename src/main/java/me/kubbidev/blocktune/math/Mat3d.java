@@ -0,0 +1,86 @@
+package me.kubbidev.blocktune.math;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A mutable 3x3 matrix of doubles, used to rotate spell shapes along the looking direction of their caster.
+ */
+public final class Mat3d {
+
+    // row-major elements, handed as is to the point kernel
+    private final double[] m = new double[9];
+
+    /**
+     * Creates an identity matrix.
+     */
+    public Mat3d() {
+        this.m[0] = 1.0;
+        this.m[4] = 1.0;
+        this.m[8] = 1.0;
+    }
+
+    public double get(int row, int column) {
+        if (row < 0 || row > 2 || column < 0 || column > 2) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + column + ')');
+        }
+        return this.m[row * 3 + column];
+    }
+
+    /**
+     * Sets this matrix to the rotation applied by {@code rotateAroundX(pitch)} followed by {@code rotateAroundY(-yaw)}, the way spells
+     * orient their shapes along the caster looking direction.
+     *
+     * @param pitch the pitch in degrees
+     * @param yaw   the yaw in degrees
+     */
+    public @NotNull Mat3d setRotation(double pitch, double yaw) {
+        double a = Math.toRadians(pitch);
+        double b = Math.toRadians(-yaw);
+        double sa = Math.sin(a), ca = Math.cos(a);
+        double sb = Math.sin(b), cb = Math.cos(b);
+
+        this.m[0] = cb;
+        this.m[1] = sb * sa;
+        this.m[2] = sb * ca;
+        this.m[3] = 0.0;
+        this.m[4] = ca;
+        this.m[5] = -sa;
+        this.m[6] = -sb;
+        this.m[7] = cb * sa;
+        this.m[8] = cb * ca;
+        return this;
+    }
+
+    /**
+     * Rotates the given vector in place.
+     */
+    public @NotNull Vec3d transform(@NotNull Vec3d vector) {
+        double x = vector.getX();
+        double y = vector.getY();
+        double z = vector.getZ();
+        return vector.set(
+            this.m[0] * x + this.m[1] * y + this.m[2] * z,
+            this.m[3] * x + this.m[4] * y + this.m[5] * z,
+            this.m[6] * x + this.m[7] * y + this.m[8] * z
+        );
+    }
+
+    /**
+     * Rotates the given points, translates them by the given offset and appends them to the given buffer.
+     *
+     * @param xs     the x coordinates of the points
+     * @param ys     the y coordinates of the points
+     * @param zs     the z coordinates of the points
+     * @param from   the index of the first point to transform
+     * @param length the amount of points to transform
+     * @param x      the x coordinate of the offset
+     * @param y      the y coordinate of the offset
+     * @param z      the z coordinate of the offset
+     * @param out    the buffer receiving the transformed points
+     */
+    public void transform(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int from, int length,
+                          double x, double y, double z, @NotNull PointBuffer out) {
+        int offset = out.grow(length);
+        PointKernels.get().transform(xs, ys, zs, from, length, this.m, x, y, z, out.xs(), out.ys(), out.zs(), offset);
+    }
+}
@@ -0,0 +1,93 @@
+package me.kubbidev.blocktune.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of points stored as one array per coordinate.
+ * <p>
+ * Each thread owns a scratch buffer reachable through {@link #local()}, which spells fill with the points of the current tick and consume
+ * before the tick ends, so that drawing a spell does not allocate once the buffer has grown to the largest shape.
+ */
+public final class PointBuffer {
+
+    private static final ThreadLocal<PointBuffer> LOCAL = ThreadLocal.withInitial(PointBuffer::new);
+
+    /**
+     * Gets the emptied scratch buffer of the current thread.
+     * <p>
+     * The buffer is shared by every caller of the thread, it must not be kept past the current task.
+     */
+    public static @NotNull PointBuffer local() {
+        PointBuffer buffer = LOCAL.get();
+        buffer.clear();
+        return buffer;
+    }
+
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] zs = new double[64];
+    private int      size;
+
+    public int size() {
+        return this.size;
+    }
+
+    public double x(int index) {
+        return this.xs[index];
+    }
+
+    public double y(int index) {
+        return this.ys[index];
+    }
+
+    public double z(int index) {
+        return this.zs[index];
+    }
+
+    /**
+     * Removes every point from this buffer, keeping the backing arrays.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    public void add(double x, double y, double z) {
+        int index = grow(1);
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.zs[index] = z;
+    }
+
+    /**
+     * Reserves room for the given amount of points at the end of this buffer.
+     *
+     * @param length the amount of points to reserve
+     * @return the index of the first reserved point
+     */
+    int grow(int length) {
+        int index = this.size;
+        int required = index + length;
+        if (required > this.xs.length) {
+            int capacity = Math.max(required, this.xs.length << 1);
+            this.xs = Arrays.copyOf(this.xs, capacity);
+            this.ys = Arrays.copyOf(this.ys, capacity);
+            this.zs = Arrays.copyOf(this.zs, capacity);
+        }
+        this.size = required;
+        return index;
+    }
+
+    double[] xs() {
+        return this.xs;
+    }
+
+    double[] ys() {
+        return this.ys;
+    }
+
+    double[] zs() {
+        return this.zs;
+    }
+}
@@ -0,0 +1,55 @@
+package me.kubbidev.blocktune.math;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The batch operations spells run over whole arrays of sample points, stored as one array per coordinate.
+ * <p>
+ * The implementation in use is picked once by {@link PointKernels#get()}.
+ */
+@ApiStatus.Internal
+public interface PointKernel {
+
+    /**
+     * Gets a short name describing this kernel, for diagnostics.
+     */
+    @NotNull String getName();
+
+    /**
+     * Rotates the given points by a row-major 3x3 matrix, then translates them by the given offset.
+     *
+     * @param xs      the x coordinates of the points
+     * @param ys      the y coordinates of the points
+     * @param zs      the z coordinates of the points
+     * @param from    the index of the first point to transform
+     * @param length  the amount of points to transform
+     * @param m       the row-major 3x3 matrix
+     * @param x       the x coordinate of the offset
+     * @param y       the y coordinate of the offset
+     * @param z       the z coordinate of the offset
+     * @param outX    the array receiving the transformed x coordinates
+     * @param outY    the array receiving the transformed y coordinates
+     * @param outZ    the array receiving the transformed z coordinates
+     * @param outFrom the index of the first transformed point in the output arrays
+     */
+    void transform(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int from, int length,
+                   double @NotNull [] m, double x, double y, double z,
+                   double @NotNull [] outX, double @NotNull [] outY, double @NotNull [] outZ, int outFrom);
+
+    /**
+     * Gets whether any of the given points lies within the given squared distance of a position.
+     *
+     * @param xs            the x coordinates of the points
+     * @param ys            the y coordinates of the points
+     * @param zs            the z coordinates of the points
+     * @param length        the amount of points to test, starting from the first one
+     * @param x             the x coordinate of the position
+     * @param y             the y coordinate of the position
+     * @param z             the z coordinate of the position
+     * @param radiusSquared the squared distance
+     * @return true if a point is close enough to the position
+     */
+    boolean anyWithin(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int length,
+                      double x, double y, double z, double radiusSquared);
+}
@@ -0,0 +1,43 @@
+package me.kubbidev.blocktune.math;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Picks the {@link PointKernel} used by the plugin.
+ * <p>
+ * The Vector API kernel is only used when the server has been started with {@code --add-modules=jdk.incubator.vector}, every other
+ * runtime falls back to the scalar kernel.
+ * <p>
+ * The vector kernel is compiled apart from the rest of the plugin, in the {@code vector} source set, and is only looked up by name.
+ */
+@ApiStatus.Internal
+public final class PointKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "me.kubbidev.blocktune.math.VectorPointKernel";
+
+    private static final PointKernel KERNEL = select();
+
+    private PointKernels() {
+    }
+
+    /**
+     * Gets the kernel in use.
+     */
+    public static @NotNull PointKernel get() {
+        return KERNEL;
+    }
+
+    private static PointKernel select() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarPointKernel.INSTANCE;
+        }
+        try {
+            // only link the vector kernel once the module is known to be readable
+            return (PointKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ScalarPointKernel.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package me.kubbidev.blocktune.math;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The plain loop implementation of {@link PointKernel}, available on every runtime.
+ */
+final class ScalarPointKernel implements PointKernel {
+    static final ScalarPointKernel INSTANCE = new ScalarPointKernel();
+
+    private ScalarPointKernel() {
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void transform(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int from, int length,
+                          double @NotNull [] m, double x, double y, double z,
+                          double @NotNull [] outX, double @NotNull [] outY, double @NotNull [] outZ, int outFrom) {
+        double m00 = m[0], m01 = m[1], m02 = m[2];
+        double m10 = m[3], m11 = m[4], m12 = m[5];
+        double m20 = m[6], m21 = m[7], m22 = m[8];
+        for (int i = 0; i < length; i++) {
+            double px = xs[from + i];
+            double py = ys[from + i];
+            double pz = zs[from + i];
+            outX[outFrom + i] = x + m00 * px + m01 * py + m02 * pz;
+            outY[outFrom + i] = y + m10 * px + m11 * py + m12 * pz;
+            outZ[outFrom + i] = z + m20 * px + m21 * py + m22 * pz;
+        }
+    }
+
+    @Override
+    public boolean anyWithin(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int length,
+                             double x, double y, double z, double radiusSquared) {
+        for (int i = 0; i < length; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double dz = zs[i] - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
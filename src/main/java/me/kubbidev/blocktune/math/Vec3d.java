@@ -0,0 +1,147 @@
+package me.kubbidev.blocktune.math;
+
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A mutable three-dimensional vector of doubles.
+ * <p>
+ * Unlike {@link Vector}, every operation mutates the vector in place and returns it, so spells can keep a few instances per cast and
+ * reuse them every tick instead of allocating new vectors. A {@link Vector} is only created at the Bukkit API boundary through
+ * {@link #toVector()}.
+ */
+public final class Vec3d {
+
+    private double x;
+    private double y;
+    private double z;
+
+    public Vec3d() {
+    }
+
+    public Vec3d(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public double getZ() {
+        return this.z;
+    }
+
+    public @NotNull Vec3d setX(double x) {
+        this.x = x;
+        return this;
+    }
+
+    public @NotNull Vec3d setY(double y) {
+        this.y = y;
+        return this;
+    }
+
+    public @NotNull Vec3d setZ(double z) {
+        this.z = z;
+        return this;
+    }
+
+    public @NotNull Vec3d set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public @NotNull Vec3d set(@NotNull Vec3d other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    public @NotNull Vec3d add(double x, double y, double z) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+        return this;
+    }
+
+    public @NotNull Vec3d add(@NotNull Vec3d other) {
+        return add(other.x, other.y, other.z);
+    }
+
+    public @NotNull Vec3d multiply(double factor) {
+        this.x *= factor;
+        this.y *= factor;
+        this.z *= factor;
+        return this;
+    }
+
+    public double lengthSquared() {
+        return this.x * this.x + this.y * this.y + this.z * this.z;
+    }
+
+    /**
+     * Scales this vector to a length of one, leaving it untouched if its length is zero.
+     */
+    public @NotNull Vec3d normalize() {
+        double lengthSquared = lengthSquared();
+        if (lengthSquared != 0.0) {
+            multiply(1.0 / Math.sqrt(lengthSquared));
+        }
+        return this;
+    }
+
+    /**
+     * Sets this vector to the unit direction faced with the given rotation, the same way {@link org.bukkit.Location#getDirection()} does.
+     *
+     * @param yaw   the yaw in degrees
+     * @param pitch the pitch in degrees
+     */
+    public @NotNull Vec3d direction(double yaw, double pitch) {
+        double rotX = Math.toRadians(yaw);
+        double rotY = Math.toRadians(pitch);
+        double xz = Math.cos(rotY);
+        return set(-xz * Math.sin(rotX), -Math.sin(rotY), xz * Math.cos(rotX));
+    }
+
+    /**
+     * Rotates this vector around the x axis, the same way {@link Vector#rotateAroundX(double)} does.
+     */
+    public @NotNull Vec3d rotateAroundX(double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        return set(this.x, cos * this.y - sin * this.z, sin * this.y + cos * this.z);
+    }
+
+    /**
+     * Rotates this vector around the y axis, the same way {@link Vector#rotateAroundY(double)} does.
+     */
+    public @NotNull Vec3d rotateAroundY(double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        return set(cos * this.x + sin * this.z, this.y, -sin * this.x + cos * this.z);
+    }
+
+    /**
+     * Rotates this vector around the z axis, the same way {@link Vector#rotateAroundZ(double)} does.
+     */
+    public @NotNull Vec3d rotateAroundZ(double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        return set(cos * this.x - sin * this.y, sin * this.x + cos * this.y, this.z);
+    }
+
+    public @NotNull Vector toVector() {
+        return new Vector(this.x, this.y, this.z);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3d(x=" + this.x + ", y=" + this.y + ", z=" + this.z + ')';
+    }
+}
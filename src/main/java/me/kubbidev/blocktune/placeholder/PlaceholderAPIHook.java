@@ -2,13 +2,19 @@ package me.kubbidev.blocktune.placeholder;
 
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.scoreboard.ScoreboardTemplate;
 import me.kubbidev.blocktune.scoreboard.ScoreboardAnimation;
+import me.kubbidev.blocktune.spell.Ability;
 import me.kubbidev.nexuspowered.Schedulers;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * A placeholder that just passes on to {@link me.clip.placeholderapi.PlaceholderAPI} to do all the parsing.
  */
@@ -16,6 +22,15 @@ public final class PlaceholderAPIHook extends PlaceholderExpansion implements Ru
 
     public static final PlaceholderAPIHook INSTANCE = new PlaceholderAPIHook();
 
+    // placeholder -> ability whose remaining cooldown it shows, in seconds
+    private static final Map<String, Ability> COOLDOWNS = new HashMap<>();
+
+    static {
+        for (Ability ability : Ability.values()) {
+            COOLDOWNS.put("cooldown_" + ability.name().toLowerCase(Locale.ROOT), ability);
+        }
+    }
+
     // cached server address animation currently being animated
     private final ScoreboardAnimation<String> serverAddress;
 
@@ -59,6 +74,12 @@ public final class PlaceholderAPIHook extends PlaceholderExpansion implements Ru
                 if (player == null) {
                     yield null;
                 }
+                Ability ability = COOLDOWNS.get(params);
+                if (ability != null) {
+                    long remaining = BlockTuneProvider.get().getCooldownStore().remainingMillis(player, ability);
+                    // rounded up to the tenth of a second, so a cooldown never shows 0 before it is over
+                    yield Double.toString((remaining + 99) / 100 / 10.0);
+                }
                 /*
                     store variables to avoid reuse, this method needs a lot of optimization
                     cause it may be call more than 20 times per seconds for each players on the server
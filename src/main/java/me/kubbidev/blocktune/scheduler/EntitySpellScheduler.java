@@ -0,0 +1,63 @@
+package me.kubbidev.blocktune.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import me.kubbidev.nexuspowered.terminable.Terminable;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link SpellScheduler} running entity bound tasks on the scheduler of their entity, and the other tasks on the global region and
+ * async schedulers of Paper.
+ * <p>
+ * On a server ticking its regions in parallel, tasks bound to entities of different regions run on different threads. Otherwise every
+ * scheduler of Paper runs on the main thread, and this scheduler behaves like the {@link GlobalSpellScheduler} apart from ticking entity
+ * bound tasks along with their entity.
+ */
+public final class EntitySpellScheduler implements SpellScheduler {
+
+    private final Plugin plugin;
+
+    public EntitySpellScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public @NotNull Type getType() {
+        return Type.ENTITY;
+    }
+
+    @Override
+    public @NotNull Terminable runRepeating(@NotNull Runnable task, long delay, long period) {
+        ScheduledTask scheduled = Bukkit.getGlobalRegionScheduler().runAtFixedRate(this.plugin, t -> task.run(),
+            Math.max(1L, delay), Math.max(1L, period));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public @NotNull Terminable runRepeating(@NotNull Entity owner, @NotNull Runnable task, @Nullable Runnable retired,
+                                            long delay, long period) {
+        ScheduledTask scheduled = owner.getScheduler().runAtFixedRate(this.plugin, t -> task.run(), retired,
+            Math.max(1L, delay), Math.max(1L, period));
+        if (scheduled == null) {
+            // the entity was already removed
+            if (retired != null) {
+                retired.run();
+            }
+            return Terminable.EMPTY;
+        }
+        return scheduled::cancel;
+    }
+
+    @Override
+    public @NotNull Terminable runRepeatingAsync(@NotNull Runnable task, long delay, long period) {
+        // the async scheduler counts in wall time, a tick lasting 50 milliseconds
+        ScheduledTask scheduled = Bukkit.getAsyncScheduler().runAtFixedRate(this.plugin, t -> task.run(),
+            Math.max(0L, delay) * 50L, Math.max(1L, period) * 50L, TimeUnit.MILLISECONDS);
+        return scheduled::cancel;
+    }
+}
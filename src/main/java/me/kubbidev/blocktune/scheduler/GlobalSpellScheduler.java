@@ -0,0 +1,41 @@
+package me.kubbidev.blocktune.scheduler;
+
+import me.kubbidev.nexuspowered.Schedulers;
+import me.kubbidev.nexuspowered.terminable.Terminable;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The {@link SpellScheduler} running every task on the main thread of the server, through the Bukkit scheduler.
+ * <p>
+ * Entity bound tasks are not told about the removal of their entity, and are expected to check it themselves.
+ */
+public final class GlobalSpellScheduler implements SpellScheduler {
+
+    public static final GlobalSpellScheduler INSTANCE = new GlobalSpellScheduler();
+
+    private GlobalSpellScheduler() {
+    }
+
+    @Override
+    public @NotNull Type getType() {
+        return Type.GLOBAL;
+    }
+
+    @Override
+    public @NotNull Terminable runRepeating(@NotNull Runnable task, long delay, long period) {
+        return Schedulers.sync().runRepeating(task, delay, period);
+    }
+
+    @Override
+    public @NotNull Terminable runRepeating(@NotNull Entity owner, @NotNull Runnable task, @Nullable Runnable retired,
+                                            long delay, long period) {
+        return Schedulers.sync().runRepeating(task, delay, period);
+    }
+
+    @Override
+    public @NotNull Terminable runRepeatingAsync(@NotNull Runnable task, long delay, long period) {
+        return Schedulers.async().runRepeating(task, delay, period);
+    }
+}
@@ -0,0 +1,68 @@
+package me.kubbidev.blocktune.scheduler;
+
+import me.kubbidev.nexuspowered.terminable.Terminable;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs the repeating tasks of the plugin: spell casts, boss bars and scoreboards.
+ * <p>
+ * Tasks bound to an entity run on the thread owning that entity, which is always the main thread of the server with the
+ * {@link Type#GLOBAL global} scheduler, and the thread of the region holding the entity with the {@link Type#ENTITY entity} scheduler.
+ */
+public interface SpellScheduler {
+
+    /**
+     * The schedulers which can be selected in the configuration.
+     */
+    enum Type {
+
+        /**
+         * Every task runs on the main thread of the server.
+         */
+        GLOBAL,
+
+        /**
+         * Tasks bound to an entity run on the scheduler of that entity.
+         */
+        ENTITY
+    }
+
+    /**
+     * Gets the type of this scheduler.
+     */
+    @NotNull Type getType();
+
+    /**
+     * Runs a task every period, on the thread ticking the server as a whole.
+     *
+     * @param task   the task to run
+     * @param delay  the ticks to wait before the first run
+     * @param period the ticks to wait between runs
+     * @return the handle stopping the task once closed
+     */
+    @NotNull Terminable runRepeating(@NotNull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task every period, on the thread owning the given entity.
+     *
+     * @param owner   the entity the task is bound to
+     * @param task    the task to run
+     * @param retired the callback ran instead of the task once the entity was removed, if any
+     * @param delay   the ticks to wait before the first run
+     * @param period  the ticks to wait between runs
+     * @return the handle stopping the task once closed
+     */
+    @NotNull Terminable runRepeating(@NotNull Entity owner, @NotNull Runnable task, @Nullable Runnable retired, long delay, long period);
+
+    /**
+     * Runs a task every period, off any thread ticking the server.
+     *
+     * @param task   the task to run, which must not touch the world
+     * @param delay  the ticks to wait before the first run
+     * @param period the ticks to wait between runs
+     * @return the handle stopping the task once closed
+     */
+    @NotNull Terminable runRepeatingAsync(@NotNull Runnable task, long delay, long period);
+}
@@ -0,0 +1,210 @@
+package me.kubbidev.blocktune.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A hierarchical hashed timing wheel, running actions a given amount of ticks later.
+ * <p>
+ * The wheel has four levels of 64 slots: each slot of the first level holds the timeouts of a single tick, and each slot of a next
+ * level spans the whole previous level. A timeout is filed in the lowest level covering its delay, and moved down a level when the wheel
+ * reaches its slot, so scheduling a timeout, cancelling it and advancing the wheel by a tick take a constant time whatever the amount of
+ * pending timeouts. Timeouts beyond the span of the wheel are filed in its last level, and filed again once reached.
+ * <p>
+ * The wheel is advanced by a single thread, but timeouts may be scheduled and cancelled from any thread: new timeouts are handed over
+ * to the wheel the next time it advances, and cancelled ones are dropped once the wheel reaches them.
+ */
+public final class TimingWheel {
+
+    private static final int  LEVELS    = 4;
+    private static final int  SLOT_BITS = 6;
+    private static final int  SLOTS     = 1 << SLOT_BITS;
+    private static final int  SLOT_MASK = SLOTS - 1;
+    private static final long SPAN      = 1L << (SLOT_BITS * LEVELS);
+
+    private final Logger logger;
+
+    // level -> slot -> first timeout of the slot, linked through Timeout#next
+    private final Timeout[][]    slots   = new Timeout[LEVELS][SLOTS];
+    // timeouts scheduled since the last advance
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    // the last tick the wheel advanced to
+    private volatile long tick;
+
+    public TimingWheel(@NotNull Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Gets the last tick the wheel advanced to.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Runs the given action once the given amount of ticks elapsed, on the thread advancing the wheel.
+     *
+     * @param delay  the ticks to wait, a delay below one waiting for the next tick
+     * @param action the action to run
+     * @return the timeout, which can be cancelled until it expires
+     */
+    public @NotNull Timeout schedule(long delay, @NotNull Runnable action) {
+        Timeout timeout = new Timeout(this.tick + Math.max(1L, delay), action);
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel up to the given tick, running the actions of every timeout expiring on the way.
+     *
+     * @param now the tick to advance to
+     */
+    public void advance(long now) {
+        while (this.tick < now) {
+            long next = this.tick + 1;
+            this.tick = next;
+
+            Timeout timeout;
+            while ((timeout = this.pending.poll()) != null) {
+                file(timeout, next);
+            }
+            // move the timeouts of the reached slots a level down, the highest level first
+            int level = 0;
+            while (level + 1 < LEVELS && (next & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+                level++;
+            }
+            for (; level > 0; level--) {
+                int slot = (int) (next >>> (SLOT_BITS * level)) & SLOT_MASK;
+                timeout = this.slots[level][slot];
+                this.slots[level][slot] = null;
+                while (timeout != null) {
+                    Timeout following = timeout.next;
+                    timeout.next = null;
+                    if (!timeout.isCancelled()) {
+                        file(timeout, next);
+                    }
+                    timeout = following;
+                }
+            }
+            expire(next);
+        }
+    }
+
+    /**
+     * Cancels every pending timeout.
+     */
+    public void clear() {
+        Timeout timeout;
+        while ((timeout = this.pending.poll()) != null) {
+            timeout.cancel();
+        }
+        for (Timeout[] level : this.slots) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                for (timeout = level[slot]; timeout != null; timeout = timeout.next) {
+                    timeout.cancel();
+                }
+                level[slot] = null;
+            }
+        }
+    }
+
+    private void expire(long now) {
+        int slot = (int) now & SLOT_MASK;
+        Timeout timeout = this.slots[0][slot];
+        this.slots[0][slot] = null;
+        while (timeout != null) {
+            Timeout following = timeout.next;
+            timeout.next = null;
+            if (timeout.deadline > now) {
+                // a timeout beyond the span of the wheel, reached a lap early
+                file(timeout, now);
+            } else if (timeout.expire()) {
+                try {
+                    timeout.action.run();
+                } catch (Throwable t) {
+                    this.logger.log(Level.SEVERE, "Exception while running a timeout", t);
+                }
+            }
+            timeout = following;
+        }
+    }
+
+    private void file(Timeout timeout, long now) {
+        long delta = Math.min(timeout.deadline, now + SPAN - 1) - now;
+        if (delta <= 0) {
+            // due right now, the slot of the current tick is expired right after
+            timeout.next = this.slots[0][(int) now & SLOT_MASK];
+            this.slots[0][(int) now & SLOT_MASK] = timeout;
+            return;
+        }
+        long target = now + delta;
+        int level = 0;
+        while ((delta >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+        timeout.next = this.slots[level][slot];
+        this.slots[level][slot] = timeout;
+    }
+
+    /**
+     * An action scheduled on a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private static final int PENDING   = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED   = 2;
+
+        private final long     deadline;
+        private final Runnable action;
+
+        private volatile int state = PENDING;
+
+        // the next timeout of the slot this timeout is filed in
+        private Timeout next;
+
+        private Timeout(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * Gets the tick this timeout expires at.
+         */
+        public long getDeadline() {
+            return this.deadline;
+        }
+
+        /**
+         * Cancels this timeout, if it did not expire yet.
+         *
+         * @return true if the timeout was cancelled by this call
+         */
+        public boolean cancel() {
+            return STATE.compareAndSet(this, PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return this.state == EXPIRED;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, PENDING, EXPIRED);
+        }
+    }
+}
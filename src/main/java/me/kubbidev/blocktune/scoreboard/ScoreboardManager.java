@@ -1,8 +1,7 @@
 package me.kubbidev.blocktune.scoreboard;
 
 import me.kubbidev.blocktune.BlockTune;
-import me.kubbidev.nexuspowered.Schedulers;
-import me.kubbidev.nexuspowered.scheduler.Task;
+import me.kubbidev.nexuspowered.terminable.Terminable;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -53,7 +52,7 @@ public class ScoreboardManager implements Listener {
     private void startScoreboardThread(@NotNull Scoreboard scoreboard) {
         UpdateScoreboardTask thread = new UpdateScoreboardTask(this, scoreboard);
         // create a new task that will loop indefinitely and update the scoreboard every time it ticks
-        Task task = Schedulers.sync().runRepeating(thread, 1L, 2L);
+        Terminable task = this.plugin.getSpellScheduler().runRepeating(scoreboard.getPlayer(), thread, null, 1L, 2L);
         task.bindWith(scoreboard);
     }
 
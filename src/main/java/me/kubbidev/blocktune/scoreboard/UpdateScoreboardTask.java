@@ -1,13 +1,10 @@
 package me.kubbidev.blocktune.scoreboard;
 
-import me.kubbidev.nexuspowered.scheduler.Task;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.function.Consumer;
-
-public class UpdateScoreboardTask implements Consumer<Task> {
+public class UpdateScoreboardTask implements Runnable {
 
     private final Player player;
 
@@ -49,7 +46,7 @@ public class UpdateScoreboardTask implements Consumer<Task> {
     }
 
     @Override
-    public void accept(Task task) {
+    public void run() {
         if (!this.player.isOnline()) {
             return;
         }
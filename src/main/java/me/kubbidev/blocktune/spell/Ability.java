@@ -2,13 +2,16 @@ package me.kubbidev.blocktune.spell;
 
 import com.google.common.collect.ImmutableMap;
 import me.kubbidev.blocktune.spell.handler.def.*;
+import me.kubbidev.blocktune.spell.hit.HitLedger;
 import me.kubbidev.spellcaster.SpellCasterProvider;
 import me.kubbidev.spellcaster.spell.SimpleSpell;
 import me.kubbidev.spellcaster.spell.Spell;
 import me.kubbidev.spellcaster.spell.handler.SpellHandler;
 import me.kubbidev.spellcaster.spell.trigger.TriggerType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 public enum Ability {
@@ -92,6 +95,25 @@ public enum Ability {
         .put("cooldown", 4.0)
         .build());
 
+    // handler -> ability, used to resolve the ability of a spell cast
+    private static final Map<SpellHandler<?>, Ability> BY_HANDLER = new IdentityHashMap<>();
+
+    static {
+        for (Ability ability : values()) {
+            BY_HANDLER.put(ability.handler, ability);
+        }
+    }
+
+    /**
+     * Gets the ability handled by the given {@link SpellHandler}.
+     *
+     * @param handler the spell handler
+     * @return the ability, or null if the handler does not belong to any ability
+     */
+    public static @Nullable Ability byHandler(@NotNull SpellHandler<?> handler) {
+        return BY_HANDLER.get(handler);
+    }
+
     /**
      * The instance that handles all effects and behavior of the spell.
      * <p>
@@ -108,9 +130,29 @@ public enum Ability {
      */
     private final Map<String, Double> parameters;
 
+    // parameter ordinal -> value of the parameter, the same values as above read without hashing nor unboxing
+    private final double[] slots = new double[AbilityParameter.SLOTS];
+
+    /**
+     * How long a victim hit by the spell is ignored by further hit tests of the same cast.
+     */
+    private final HitLedger.Scope hitScope;
+
     Ability(SpellHandler<?> handler, Map<String, Double> parameters) {
+        this(handler, HitLedger.Scope.TICK, parameters);
+    }
+
+    Ability(SpellHandler<?> handler, HitLedger.Scope hitScope, Map<String, Double> parameters) {
         this.handler = handler;
+        this.hitScope = hitScope;
         this.parameters = parameters;
+        parameters.forEach((key, value) -> {
+            AbilityParameter parameter = AbilityParameter.byKey(key);
+            if (parameter == null) {
+                throw new IllegalArgumentException("Unknown ability parameter: " + key);
+            }
+            this.slots[parameter.ordinal()] = value;
+        });
     }
 
     public @NotNull SpellHandler<?> getHandler() {
@@ -121,6 +163,17 @@ public enum Ability {
         return this.parameters;
     }
 
+    /**
+     * Gets the default value of the given parameter, or 0 if the ability does not define it.
+     */
+    public double parameter(@NotNull AbilityParameter parameter) {
+        return this.slots[parameter.ordinal()];
+    }
+
+    public @NotNull HitLedger.Scope getHitScope() {
+        return this.hitScope;
+    }
+
     /**
      * Converts this enumeration into a {@link Spell} that can be utilized by the plugin.
      * <p>
@@ -0,0 +1,71 @@
+package me.kubbidev.blocktune.spell;
+
+import me.kubbidev.blocktune.BlockTuneProvider;
+import me.kubbidev.spellcaster.spell.SpellMetadata;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The parameters an {@link Ability} is cast with.
+ * <p>
+ * The ordinal of each parameter is the slot its value is stored in, by every ability and by every spell of the {@link PreparedSpells},
+ * whose parameters are resolved once when built, modifiers included. Reading a parameter of a cast is then a plain array access on the
+ * slots of the spell being cast, without hashing its key nor unboxing its value.
+ */
+public enum AbilityParameter {
+
+    DAMAGE("damage"),
+    RADIUS("radius"),
+    KNOCKBACK("knockback"),
+    REPULSION("repulsion"),
+    COOLDOWN("cooldown");
+
+    /**
+     * The amount of slots an ability stores its parameters in.
+     */
+    public static final int SLOTS = values().length;
+
+    /**
+     * Gets the parameter registered to spellcaster under the given key.
+     *
+     * @param key the key of the parameter
+     * @return the parameter, or null if no parameter has this key
+     */
+    public static @Nullable AbilityParameter byKey(@NotNull String key) {
+        return switch (key) {
+            case "damage" -> DAMAGE;
+            case "radius" -> RADIUS;
+            case "knockback" -> KNOCKBACK;
+            case "repulsion" -> REPULSION;
+            case "cooldown" -> COOLDOWN;
+            default -> null;
+        };
+    }
+
+    /**
+     * The key the parameter is registered to spellcaster under.
+     */
+    private final String key;
+
+    AbilityParameter(String key) {
+        this.key = key;
+    }
+
+    public @NotNull String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets the value of this parameter for the given cast, read from the slots of the spell being cast.
+     * <p>
+     * A spell which was not built by the {@link PreparedSpells}, or was replaced by a reload since it was cast, is asked for the parameter
+     * by its key instead.
+     *
+     * @param meta the cast
+     * @return the value of the parameter
+     */
+    public double get(@NotNull SpellMetadata meta) {
+        double[] slots = BlockTuneProvider.get().getPreparedSpells().slots(meta.cast());
+        return slots == null ? meta.parameter(this.key) : slots[ordinal()];
+    }
+}
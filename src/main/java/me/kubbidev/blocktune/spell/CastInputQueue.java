@@ -0,0 +1,144 @@
+package me.kubbidev.blocktune.spell;
+
+import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues the spell inputs of every {@link SpellPlayer}, and handles them once per tick from a single task on the main thread.
+ * <p>
+ * Listeners only append inputs to the ring buffer of the player, which keeps the latest inputs once full. Each run coalesces the inputs
+ * queued by a player since the previous run: the latest ability cycle is applied, then at most one cast of the selected ability is
+ * attempted, unless the player attempted a cast less than the configured debounce ago. However fast players click, a run costs at most
+ * the size of the ring buffer per player who clicked.
+ */
+@ApiStatus.Internal
+public final class CastInputQueue implements Runnable {
+
+    /**
+     * The amount of inputs a player may queue between two runs, a power of two.
+     */
+    static final int CAPACITY = 16;
+
+    /**
+     * An input of a player.
+     */
+    public enum Input {
+
+        /**
+         * Casts the selected ability.
+         */
+        CAST,
+
+        /**
+         * Selects the next unlocked ability.
+         */
+        NEXT_ABILITY,
+
+        /**
+         * Selects the previous unlocked ability.
+         */
+        PREVIOUS_ABILITY
+    }
+
+    private final BlockTune plugin;
+
+    // players who queued inputs since the last run
+    private final List<SpellPlayer> queued = new ArrayList<>();
+
+    // the number of the current run
+    private long tick;
+
+    public CastInputQueue(@NotNull BlockTune plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues an input of the given player, handled by the next run.
+     *
+     * @param spellPlayer the player
+     * @param input       the input
+     */
+    public void append(@NotNull SpellPlayer spellPlayer, @NotNull Input input) {
+        Input[] inputs = spellPlayer.inputs;
+        if (spellPlayer.inputCount == CAPACITY) {
+            // full, the oldest input is overwritten
+            spellPlayer.inputStart = (spellPlayer.inputStart + 1) & (CAPACITY - 1);
+            spellPlayer.inputCount--;
+        }
+        inputs[(spellPlayer.inputStart + spellPlayer.inputCount++) & (CAPACITY - 1)] = input;
+        if (!spellPlayer.queued) {
+            spellPlayer.queued = true;
+            this.queued.add(spellPlayer);
+        }
+    }
+
+    @Override
+    public void run() {
+        long tick = ++this.tick;
+        int debounce = this.plugin.getConfiguration().get(ConfigKeys.CAST_DEBOUNCE_TICKS);
+        // casting may queue inputs of other players, which are handled by this run too
+        for (int i = 0; i < this.queued.size(); i++) {
+            SpellPlayer spellPlayer = this.queued.get(i);
+            spellPlayer.queued = false;
+            drain(spellPlayer, tick, debounce);
+        }
+        this.queued.clear();
+    }
+
+    private void drain(SpellPlayer spellPlayer, long tick, int debounce) {
+        Input cycle = null;
+        boolean cast = false;
+        for (int n = 0; n < spellPlayer.inputCount; n++) {
+            Input input = spellPlayer.inputs[(spellPlayer.inputStart + n) & (CAPACITY - 1)];
+            if (input == Input.CAST) {
+                cast = true;
+            } else {
+                cycle = input;
+            }
+        }
+        spellPlayer.inputStart = 0;
+        spellPlayer.inputCount = 0;
+
+        Player player = spellPlayer.getPlayer();
+        // the player quit since queueing the inputs
+        if (player == null) {
+            return;
+        }
+        if (cycle != null) {
+            cycle(spellPlayer, cycle == Input.PREVIOUS_ABILITY);
+        }
+        if (cast && tick >= spellPlayer.nextCastTick) {
+            spellPlayer.nextCastTick = tick + 1 + debounce;
+            cast(spellPlayer, player);
+        }
+    }
+
+    private void cycle(SpellPlayer spellPlayer, boolean backwards) {
+        // safe avoid dividing by zero if empty
+        List<Ability> unlockedSpells = spellPlayer.getUnlockedAbilities();
+        if (unlockedSpells.isEmpty()) {
+            return;
+        }
+        // if it's true, subtracts one from the index and adds the size of the task list to handle negative indices before applying modulo,
+        // otherwise, simply increments the index and applies modulo to wrap around the list size if needed.
+        spellPlayer.setIndex(backwards
+            ? (spellPlayer.getIndex() - 1 + unlockedSpells.size()) % unlockedSpells.size()
+            : (spellPlayer.getIndex() + 1) % unlockedSpells.size());
+    }
+
+    private void cast(SpellPlayer spellPlayer, Player player) {
+        Ability ability = spellPlayer.getSelectedAbility();
+        // spellcaster would refuse the cast anyway, skip building the spell
+        if (ability == null || this.plugin.getCooldownStore().isOnCooldown(player, ability)) {
+            return;
+        }
+        this.plugin.getPreparedSpells().forPlayer(ability).cast(player);
+        this.plugin.getCooldownStore().sync(player, ability);
+    }
+}
@@ -0,0 +1,217 @@
+package me.kubbidev.blocktune.spell;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import it.unimi.dsi.fastutil.HashCommon;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of the abilities every entity is currently casting.
+ * <p>
+ * Each entity which cast a spell owns a slot in an open-addressing table keyed by entity id, holding a 3 bit counter per {@link Ability}
+ * ordinal packed in a {@code long}, so that an ability cast several times at once is only released once every cast ended. Spells
+ * handled by no ability share the last counter.
+ * <p>
+ * Queries neither lock nor allocate. The table is split into stripes selected by entity id, and updates, which only happen when a cast
+ * starts or ends, lock their stripe and publish every slot they write. Slots of removed entities are only reclaimed when their stripe is
+ * rebuilt, so a reader never sees the counters of an entity under the id of another one.
+ */
+@ApiStatus.Internal
+public final class CastingRegistry implements Listener {
+
+    private static final int  COUNTER_BITS = 3;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    // the counter of the spells handled by no ability
+    private static final int  OTHER        = Ability.values().length;
+
+    private static final int STRIPES = 16;
+
+    // keys of the free slots, and of the slots of removed entities, which never are real entity ids
+    private static final int FREE    = 0;
+    private static final int REMOVED = -1;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public CastingRegistry() {
+        if ((OTHER + 1) * COUNTER_BITS > Long.SIZE) {
+            throw new IllegalStateException("Too many abilities to pack their counters in a long");
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Marks the given entity as casting the given ability.
+     *
+     * @param entity  the caster
+     * @param ability the ability cast, or null if the spell is handled by no ability
+     */
+    public void start(@NotNull Entity entity, @Nullable Ability ability) {
+        int id = entity.getEntityId();
+        stripe(id).update(id, shift(ability), 1);
+    }
+
+    /**
+     * Marks one cast of the given ability by the given entity as ended.
+     *
+     * @param entity  the caster
+     * @param ability the ability cast, or null if the spell is handled by no ability
+     */
+    public void end(@NotNull Entity entity, @Nullable Ability ability) {
+        int id = entity.getEntityId();
+        stripe(id).update(id, shift(ability), -1);
+    }
+
+    /**
+     * Gets whether the given entity is casting any spell.
+     */
+    public boolean isCasting(@NotNull Entity entity) {
+        int id = entity.getEntityId();
+        return stripe(id).get(id) != 0L;
+    }
+
+    /**
+     * Gets whether the given entity is casting the given ability.
+     */
+    public boolean isCasting(@NotNull Entity entity, @NotNull Ability ability) {
+        int id = entity.getEntityId();
+        return (stripe(id).get(id) >>> shift(ability) & COUNTER_MASK) != 0L;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent e) {
+        Entity entity = e.getEntity();
+        // players keep their entity id when changing worlds, they are forgotten when quitting instead
+        if (!(entity instanceof Player)) {
+            forget(entity.getEntityId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        forget(e.getPlayer().getEntityId());
+    }
+
+    private void forget(int id) {
+        stripe(id).remove(id);
+    }
+
+    private Stripe stripe(int id) {
+        return this.stripes[HashCommon.mix(id) >>> 28 & (STRIPES - 1)];
+    }
+
+    private static int shift(@Nullable Ability ability) {
+        return (ability == null ? OTHER : ability.ordinal()) * COUNTER_BITS;
+    }
+
+    private static final class Table {
+
+        private final AtomicIntegerArray keys;
+        private final AtomicLongArray    counters;
+        private final int                mask;
+
+        // slots holding a key, removed ones included
+        private int used;
+
+        private Table(int capacity) {
+            this.keys = new AtomicIntegerArray(capacity);
+            this.counters = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private int find(int id) {
+            for (int slot = HashCommon.mix(id) & this.mask; ; slot = (slot + 1) & this.mask) {
+                int key = this.keys.get(slot);
+                if (key == id) {
+                    return slot;
+                }
+                if (key == FREE) {
+                    return -1;
+                }
+            }
+        }
+
+        private int insert(int id, long counters) {
+            int slot = HashCommon.mix(id) & this.mask;
+            while (this.keys.get(slot) != FREE) {
+                slot = (slot + 1) & this.mask;
+            }
+            // the counters are published before the key, which makes the slot visible to readers
+            this.counters.set(slot, counters);
+            this.keys.set(slot, id);
+            this.used++;
+            return slot;
+        }
+    }
+
+    private static final class Stripe {
+
+        private volatile Table table = new Table(16);
+
+        private long get(int id) {
+            Table table = this.table;
+            int slot = table.find(id);
+            return slot == -1 ? 0L : table.counters.get(slot);
+        }
+
+        private synchronized void update(int id, int shift, int delta) {
+            Table table = this.table;
+            int slot = table.find(id);
+            if (slot == -1) {
+                if (delta < 0) {
+                    return;
+                }
+                if ((table.used + 1) * 4 > (table.mask + 1) * 3) {
+                    table = rebuild(table);
+                }
+                slot = table.insert(id, 0L);
+            }
+            long counters = table.counters.get(slot);
+            long counter = (counters >>> shift & COUNTER_MASK) + delta;
+            if (counter < 0 || counter > COUNTER_MASK) {
+                // more casts of a same ability than the counter holds, or the end of a cast started before the entity was forgotten
+                return;
+            }
+            table.counters.set(slot, counters & ~(COUNTER_MASK << shift) | counter << shift);
+        }
+
+        private synchronized void remove(int id) {
+            Table table = this.table;
+            int slot = table.find(id);
+            if (slot != -1) {
+                table.keys.set(slot, REMOVED);
+            }
+        }
+
+        private Table rebuild(Table table) {
+            int live = 0;
+            for (int slot = 0; slot <= table.mask; slot++) {
+                int key = table.keys.get(slot);
+                if (key != FREE && key != REMOVED) {
+                    live++;
+                }
+            }
+            // keep the table at most half full once rebuilt
+            Table rebuilt = new Table(Math.max(16, HashCommon.nextPowerOfTwo((live + 1) * 2)));
+            for (int slot = 0; slot <= table.mask; slot++) {
+                int key = table.keys.get(slot);
+                if (key != FREE && key != REMOVED) {
+                    rebuilt.insert(key, table.counters.get(slot));
+                }
+            }
+            this.table = rebuilt;
+            return rebuilt;
+        }
+    }
+}
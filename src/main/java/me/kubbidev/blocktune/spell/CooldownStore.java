@@ -0,0 +1,199 @@
+package me.kubbidev.blocktune.spell;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.kubbidev.blocktune.scheduler.TimingWheel;
+import me.kubbidev.nexuspowered.cooldown.Cooldown;
+import me.kubbidev.spellcaster.entity.EntityMetadataProvider;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A copy of the spell cooldowns of every entity, readable without hashing spell handlers or allocating.
+ * <p>
+ * Each entity owns a {@code long[]} holding, for every {@link Ability} ordinal, the time its cooldown expires at and the length of that
+ * cooldown, in the milliseconds of the wall clock spellcaster counts its cooldowns in. The cooldowns are still applied by spellcaster:
+ * the store copies the cooldown of an ability every time an entity tried to cast it, and copies it again before refusing a cast, so
+ * that a cooldown reset behind its back never blocks a cast.
+ * <p>
+ * Every cooldown copied is cleared once it expired by a timeout of the {@link TimingWheel} of the spell tick engine, and an entity whose
+ * cooldowns all expired is forgotten, so the store only holds the entities which are still waiting on a cooldown.
+ * <p>
+ * The store is only accessed from the main thread.
+ */
+@ApiStatus.Internal
+public final class CooldownStore implements Listener {
+
+    private static final int ABILITIES = Ability.values().length;
+
+    // the milliseconds of a server tick
+    private static final long TICK_MILLIS = 50L;
+
+    private final TimingWheel wheel;
+
+    // entity id -> expiry and length of the cooldown of every ability, interleaved
+    private final Int2ObjectMap<long[]>                 cooldowns = new Int2ObjectOpenHashMap<>();
+    // entity id -> timeout clearing the cooldown of every ability once it expired
+    private final Int2ObjectMap<TimingWheel.Timeout[]> timeouts  = new Int2ObjectOpenHashMap<>();
+
+    public CooldownStore(@NotNull TimingWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    /**
+     * Copies the cooldown spellcaster holds for the given ability of the given entity, done once the entity tried to cast the ability.
+     *
+     * @param entity  the caster
+     * @param ability the ability cast
+     */
+    public void sync(@NotNull LivingEntity entity, @NotNull Ability ability) {
+        Cooldown cooldown = EntityMetadataProvider.getCooldownMap(entity).get(ability.getHandler()).orElse(null);
+        if (cooldown == null) {
+            copy(entity.getEntityId(), ability, 0L, 0L);
+        } else {
+            copy(entity.getEntityId(), ability, cooldown.remainingMillis(), cooldown.getTimeout());
+        }
+    }
+
+    void copy(int id, @NotNull Ability ability, long remaining, long timeout) {
+        if (remaining <= 0L) {
+            clear(id, ability.ordinal());
+            return;
+        }
+        long[] cooldowns = this.cooldowns.get(id);
+        if (cooldowns == null) {
+            cooldowns = new long[ABILITIES << 1];
+            this.cooldowns.put(id, cooldowns);
+            this.timeouts.put(id, new TimingWheel.Timeout[ABILITIES]);
+        }
+        cooldowns[ability.ordinal() << 1] = System.currentTimeMillis() + remaining;
+        cooldowns[(ability.ordinal() << 1) + 1] = timeout;
+        expireIn(id, ability.ordinal(), remaining);
+    }
+
+    private void expireIn(int id, int ordinal, long millis) {
+        TimingWheel.Timeout[] timeouts = this.timeouts.get(id);
+        if (timeouts[ordinal] != null) {
+            timeouts[ordinal].cancel();
+        }
+        // rounded up, the cooldown is never cleared before it expired
+        timeouts[ordinal] = this.wheel.schedule((millis + TICK_MILLIS - 1) / TICK_MILLIS, () -> expire(id, ordinal));
+    }
+
+    private void expire(int id, int ordinal) {
+        long[] cooldowns = this.cooldowns.get(id);
+        if (cooldowns == null) {
+            return;
+        }
+        // ticks running late or early, the wall clock decides
+        long remaining = cooldowns[ordinal << 1] - System.currentTimeMillis();
+        if (remaining > 0L) {
+            expireIn(id, ordinal, remaining);
+            return;
+        }
+        this.timeouts.get(id)[ordinal] = null;
+        clear(id, ordinal);
+    }
+
+    private void clear(int id, int ordinal) {
+        long[] cooldowns = this.cooldowns.get(id);
+        if (cooldowns == null) {
+            return;
+        }
+        cooldowns[ordinal << 1] = 0L;
+        cooldowns[(ordinal << 1) + 1] = 0L;
+        TimingWheel.Timeout[] timeouts = this.timeouts.get(id);
+        if (timeouts[ordinal] != null) {
+            timeouts[ordinal].cancel();
+            timeouts[ordinal] = null;
+        }
+        for (int i = 0; i < ABILITIES; i++) {
+            if (cooldowns[i << 1] != 0L) {
+                return;
+            }
+        }
+        // no cooldown left, the entity is not worth keeping
+        this.cooldowns.remove(id);
+        this.timeouts.remove(id);
+    }
+
+    private void forget(int id) {
+        this.cooldowns.remove(id);
+        TimingWheel.Timeout[] timeouts = this.timeouts.remove(id);
+        if (timeouts == null) {
+            return;
+        }
+        for (TimingWheel.Timeout timeout : timeouts) {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Gets the milliseconds left before the given entity may cast the given ability again.
+     */
+    public long remainingMillis(@NotNull Entity entity, @NotNull Ability ability) {
+        return remainingMillis(entity.getEntityId(), ability);
+    }
+
+    long remainingMillis(int id, @NotNull Ability ability) {
+        long[] cooldowns = this.cooldowns.get(id);
+        if (cooldowns == null) {
+            return 0L;
+        }
+        return Math.max(0L, cooldowns[ability.ordinal() << 1] - System.currentTimeMillis());
+    }
+
+    /**
+     * Gets whether the given entity has to wait before casting the given ability again.
+     * <p>
+     * A cooldown missing from the store is missing from spellcaster as well, but a cooldown of the store may have been reset since it was
+     * copied, so the cooldown spellcaster holds is copied again before telling the entity has to wait.
+     */
+    public boolean isOnCooldown(@NotNull LivingEntity entity, @NotNull Ability ability) {
+        if (remainingMillis(entity, ability) <= 0L) {
+            return false;
+        }
+        sync(entity, ability);
+        return remainingMillis(entity, ability) > 0L;
+    }
+
+    /**
+     * Gets how much of the cooldown of the given ability elapsed, from 0 when it just started to 1 once the ability is ready.
+     */
+    public double progress(@NotNull Entity entity, @NotNull Ability ability) {
+        long[] cooldowns = this.cooldowns.get(entity.getEntityId());
+        if (cooldowns == null) {
+            return 1.0;
+        }
+        long timeout = cooldowns[(ability.ordinal() << 1) + 1];
+        long remaining = cooldowns[ability.ordinal() << 1] - System.currentTimeMillis();
+        if (timeout <= 0L || remaining <= 0L) {
+            return 1.0;
+        }
+        return 1.0 - Math.min(1.0, (double) remaining / timeout);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent e) {
+        Entity entity = e.getEntity();
+        // players keep their entity id when changing worlds, they are forgotten when quitting instead
+        if (!(entity instanceof Player)) {
+            forget(entity.getEntityId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        forget(e.getPlayer().getEntityId());
+    }
+}
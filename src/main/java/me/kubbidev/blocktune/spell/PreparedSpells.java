@@ -0,0 +1,104 @@
+package me.kubbidev.blocktune.spell;
+
+import me.kubbidev.blocktune.entity.SmartEntitySpell;
+import me.kubbidev.spellcaster.spell.Spell;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The {@link Spell} of every {@link Ability}, built once and shared by every cast.
+ * <p>
+ * A spell only describes how to cast an ability, each cast carrying its own state in its
+ * {@link me.kubbidev.spellcaster.spell.SpellMetadata}, so a single instance serves every caster. The spells are built again when the
+ * plugin reloads.
+ * <p>
+ * Every spell built has its parameters, modifiers included, resolved into an array indexed by {@link AbilityParameter} ordinal, which
+ * is what handlers read the parameters of a cast from.
+ */
+@ApiStatus.Internal
+public final class PreparedSpells {
+
+    // the spells of the last build, and their parameters
+    private volatile Build build;
+
+    public PreparedSpells() {
+        rebuild();
+    }
+
+    /**
+     * Builds the spell of every ability again, casts started before keeping the spell they were cast with.
+     */
+    public void rebuild() {
+        this.build = new Build(Ability.values());
+    }
+
+    /**
+     * Gets the spell cast by players for the given ability.
+     */
+    public @NotNull Spell forPlayer(@NotNull Ability ability) {
+        return this.build.playerSpells[ability.ordinal()];
+    }
+
+    /**
+     * Gets the spell cast by smart entities for the given ability.
+     */
+    public @NotNull Spell forEntity(@NotNull Ability ability) {
+        return this.build.entitySpells[ability.ordinal()];
+    }
+
+    /**
+     * Gets the parameters the given spell was built with, indexed by {@link AbilityParameter} ordinal.
+     *
+     * @param spell the spell being cast
+     * @return the parameters, or null if the spell was not built by this instance or was replaced by a rebuild since
+     */
+    public double @Nullable [] slots(@NotNull Spell spell) {
+        Ability ability = Ability.byHandler(spell.getHandler());
+        if (ability == null) {
+            return null;
+        }
+        Build build = this.build;
+        int ordinal = ability.ordinal();
+        if (spell == build.playerSpells[ordinal]) {
+            return build.playerSlots[ordinal];
+        }
+        if (spell == build.entitySpells[ordinal]) {
+            return build.entitySlots[ordinal];
+        }
+        return null;
+    }
+
+    private static final class Build {
+
+        // ability ordinal -> spell cast by players
+        private final Spell[]    playerSpells;
+        // ability ordinal -> spell cast by smart entities
+        private final Spell[]    entitySpells;
+        // ability ordinal -> parameter ordinal -> value of the parameter in the spell cast by players
+        private final double[][] playerSlots;
+        // ability ordinal -> parameter ordinal -> value of the parameter in the spell cast by smart entities
+        private final double[][] entitySlots;
+
+        private Build(Ability[] abilities) {
+            this.playerSpells = new Spell[abilities.length];
+            this.entitySpells = new Spell[abilities.length];
+            this.playerSlots = new double[abilities.length][];
+            this.entitySlots = new double[abilities.length][];
+            for (Ability ability : abilities) {
+                this.playerSpells[ability.ordinal()] = ability.toSpell();
+                this.entitySpells[ability.ordinal()] = new SmartEntitySpell(ability);
+                this.playerSlots[ability.ordinal()] = resolve(this.playerSpells[ability.ordinal()]);
+                this.entitySlots[ability.ordinal()] = resolve(this.entitySpells[ability.ordinal()]);
+            }
+        }
+
+        private static double[] resolve(Spell spell) {
+            double[] slots = new double[AbilityParameter.SLOTS];
+            for (AbilityParameter parameter : AbilityParameter.values()) {
+                slots[parameter.ordinal()] = spell.getParameter(parameter.getKey());
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package me.kubbidev.blocktune.spell;
+
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Draws the boss bar of every {@link SpellPlayer} from a single task on the main thread.
+ * <p>
+ * Each run reads the selected ability and its cooldown from the {@link CooldownStore}, and only updates the boss bars whose title or
+ * progress changed. Progress is rounded to the pixels of the bar, so that a cooldown updates the bar at most once per visible step, and
+ * titles are built once per ability.
+ */
+@ApiStatus.Internal
+public final class SpellBossBarRenderer implements Runnable {
+
+    // the boss bar is 182 pixels wide, finer progress is not visible
+    private static final int PROGRESS_STEPS = 182;
+
+    private static final Component[] TITLES  = new Component[Ability.values().length];
+    private static final Component   UNKNOWN = Component.text("Unknown");
+
+    static {
+        for (Ability ability : Ability.values()) {
+            TITLES[ability.ordinal()] = Component.text(ability.getHandler().getId());
+        }
+    }
+
+    private final CooldownStore           cooldownStore;
+    private final Collection<SpellPlayer> players;
+
+    public SpellBossBarRenderer(@NotNull CooldownStore cooldownStore, @NotNull Collection<SpellPlayer> players) {
+        this.cooldownStore = cooldownStore;
+        this.players = players;
+    }
+
+    @Override
+    public void run() {
+        for (SpellPlayer spellPlayer : this.players) {
+            render(spellPlayer);
+        }
+    }
+
+    private void render(SpellPlayer spellPlayer) {
+        BossBar bossBar = spellPlayer.getBossBar();
+        Player player = spellPlayer.getPlayer();
+        if (bossBar == null || player == null) {
+            return;
+        }
+        Ability ability = spellPlayer.getSelectedAbility();
+
+        Component title = UNKNOWN;
+        int step = PROGRESS_STEPS;
+        if (ability != null) {
+            title = TITLES[ability.ordinal()];
+            // the bar fills up as the cooldown runs out
+            step = (int) Math.floor(this.cooldownStore.progress(player, ability) * PROGRESS_STEPS);
+        }
+        if (title != spellPlayer.renderedTitle) {
+            spellPlayer.renderedTitle = title;
+            bossBar.name(title);
+        }
+        if (step != spellPlayer.renderedStep) {
+            spellPlayer.renderedStep = step;
+            bossBar.progress((float) step / PROGRESS_STEPS);
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package me.kubbidev.blocktune.spell;
 
-import com.google.common.reflect.TypeToken;
-import me.kubbidev.nexuspowered.metadata.Metadata;
-import me.kubbidev.nexuspowered.metadata.MetadataKey;
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
 import org.bukkit.entity.LivingEntity;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Tracks which entities are casting spells, through the {@link CastingRegistry} of the plugin.
+ */
 @ApiStatus.Experimental
 @ApiStatus.Internal
 public final class SpellMetadataProvider {
@@ -17,37 +16,23 @@ public final class SpellMetadataProvider {
     private SpellMetadataProvider() {
     }
 
-    /**
-     * Metadata key used to retrieve {@link org.bukkit.entity.LivingEntity} currently casted spells from memory.
-     */
-    private static final MetadataKey<List<String>> CURRENTLY_CASTED = MetadataKey.create("currently_casted", new TypeToken<>() {
-    });
-
-    /**
-     * Gets the provided {@link LivingEntity}'s currently casted spells list associated to him.
-     *
-     * @param entity The entity owning the list.
-     * @return currently casted spells list or new instance if not found
-     */
-    private static List<String> getCurrentlyCasted(LivingEntity entity) {
-        return Metadata.provide(entity).getOrPut(CURRENTLY_CASTED, ArrayList::new);
+    private static CastingRegistry registry() {
+        return BlockTuneProvider.get().getCastingRegistry();
     }
 
     public static void onCastStart(SpellMetadata meta) {
-        synchronized (CURRENTLY_CASTED) {
-            getCurrentlyCasted(meta.entity()).add(meta.cast().getHandler().getId());
-        }
+        registry().start(meta.entity(), Ability.byHandler(meta.cast().getHandler()));
     }
 
     public static void onCastEnd(SpellMetadata meta) {
-        synchronized (CURRENTLY_CASTED) {
-            getCurrentlyCasted(meta.entity()).remove(meta.cast().getHandler().getId());
-        }
+        registry().end(meta.entity(), Ability.byHandler(meta.cast().getHandler()));
     }
 
     public static boolean isCasting(LivingEntity entity) {
-        synchronized (CURRENTLY_CASTED) {
-            return !getCurrentlyCasted(entity).isEmpty();
-        }
+        return registry().isCasting(entity);
+    }
+
+    public static boolean isCasting(LivingEntity entity, @NotNull Ability ability) {
+        return registry().isCasting(entity, ability);
     }
 }
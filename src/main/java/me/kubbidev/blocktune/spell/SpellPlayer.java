@@ -1,14 +1,9 @@
 package me.kubbidev.blocktune.spell;
 
 import com.google.common.collect.ImmutableList;
-import me.kubbidev.blocktune.BlockTune;
-import me.kubbidev.nexuspowered.cooldown.CooldownMap;
-import me.kubbidev.spellcaster.entity.EntityMetadataProvider;
-import me.kubbidev.spellcaster.spell.handler.SpellHandler;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,12 +11,9 @@ import org.jetbrains.annotations.Nullable;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 @ApiStatus.Experimental
-public final class SpellPlayer extends BukkitRunnable {
-
-    private final BlockTune plugin;
+public final class SpellPlayer {
 
     @Nullable
     private BossBar bossBar;
@@ -29,6 +21,19 @@ public final class SpellPlayer extends BukkitRunnable {
     @Nullable
     private Player player;
 
+    // the title and progress step last shown by the boss bar, see SpellBossBarRenderer
+    @Nullable
+    Component renderedTitle;
+    int       renderedStep = -1;
+
+    // the inputs queued since the last run of the input queue, see CastInputQueue
+    final CastInputQueue.Input[] inputs       = new CastInputQueue.Input[CastInputQueue.CAPACITY];
+    int                          inputStart;
+    int                          inputCount;
+    boolean                      queued;
+    // the first run of the input queue at which the player may attempt a cast again
+    long                         nextCastTick;
+
     private final List<Ability> unlockedAbilities = ImmutableList.<Ability>builder()
         .add(Ability.DANCE)
         .add(Ability.CLEAR_BLUE_SKY)
@@ -44,8 +49,7 @@ public final class SpellPlayer extends BukkitRunnable {
 
     private int index = 0;
 
-    public SpellPlayer(BlockTune plugin) {
-        this.plugin = plugin;
+    public SpellPlayer() {
     }
 
     public @NotNull List<Ability> getUnlockedAbilities() {
@@ -66,13 +70,16 @@ public final class SpellPlayer extends BukkitRunnable {
 
         this.bossBar = BossBar.bossBar(Component.empty(), BossBar.MIN_PROGRESS, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS);
         this.bossBar.addViewer(p);
-        // run the boss bar title animated task
-        runTaskTimerAsynchronously(this.plugin, 0, 1);
+        // the boss bar is drawn from scratch by the next render
+        this.renderedTitle = null;
+        this.renderedStep = -1;
+        // drop the inputs queued before quitting
+        this.inputStart = 0;
+        this.inputCount = 0;
     }
 
     public void onQuit(Player p) {
         Objects.requireNonNull(this.bossBar, "bossBar");
-        cancel();
 
         this.bossBar.removeViewer(p);
         this.bossBar = null;
@@ -90,30 +97,20 @@ public final class SpellPlayer extends BukkitRunnable {
         return Optional.empty();
     }
 
-    @Override
-    public void run() {
-        Objects.requireNonNull(this.bossBar, "bossBar");
-        Objects.requireNonNull(this.player, "player");
-
-        getActualAbility().ifPresentOrElse(ability -> {
-            SpellHandler<?> handler = ability.getHandler();
-            // boss bar progress based on cooldown duration
-            // for the actual selected spell
-            AtomicReference<Float> progress = new AtomicReference<>(BossBar.MAX_PROGRESS);
-
-            CooldownMap<SpellHandler<?>> cooldownMap = EntityMetadataProvider.getCooldownMap(this.player);
-            cooldownMap.get(handler).ifPresent(cooldown -> {
-                float percentage = ((float) cooldown.remainingMillis() / cooldown.getTimeout());
-                float difference = BossBar.MAX_PROGRESS - percentage;
-
-                progress.set(difference);
-            });
-
-            this.bossBar.progress(progress.get());
-            this.bossBar.name(Component.text(handler.getId()));
-        }, () -> {
-            this.bossBar.progress(BossBar.MAX_PROGRESS);
-            this.bossBar.name(Component.text("Unknown"));
-        });
+    /**
+     * Gets the ability currently selected, without allocating.
+     *
+     * @return the selected ability, or null if the index is out of the unlocked abilities
+     */
+    public @Nullable Ability getSelectedAbility() {
+        return this.index >= 0 && this.index < this.unlockedAbilities.size() ? this.unlockedAbilities.get(this.index) : null;
+    }
+
+    public @Nullable BossBar getBossBar() {
+        return this.bossBar;
+    }
+
+    public @Nullable Player getPlayer() {
+        return this.player;
     }
-}
\ No newline at end of file
+}
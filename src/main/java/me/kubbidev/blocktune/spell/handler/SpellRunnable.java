@@ -1,126 +1,169 @@
 package me.kubbidev.blocktune.spell.handler;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
+import me.kubbidev.blocktune.spell.Ability;
 import me.kubbidev.blocktune.spell.SpellMetadataProvider;
 import me.kubbidev.blocktune.event.EndSpellCastEvent;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.spell.hit.HitLedger;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.entity.LivingEntity;
 import org.jetbrains.annotations.NotNull;
 
-public abstract class SpellRunnable implements Runnable {
-
-    private BukkitTask task;
+/**
+ * A spell cast ticked by the {@link SpellTickEngine}.
+ * <p>
+ * Each tick of a cast runs in three phases: {@link #snapshot()} captures on the main thread the state of the world the tick depends on,
+ * {@link #compute(PointBuffer)} turns it into the points of the tick, possibly on a worker thread, and {@link #tick()} applies the tick to
+ * the world back on the main thread. Casts which do not split their work simply do everything in {@link #tick()}.
+ */
+public abstract class SpellRunnable {
 
     // the spell meta used to init this runnable
     private SpellMetadata meta;
 
+    // the points computed for the current tick
+    final PointBuffer points = new PointBuffer();
+
+    // the state of this runnable in the tick engine, -1 once removed from it, -2 while ticked by its caster, -3 while asleep
+    int       index = -1;
+    long      nextRun;
+    long      period;
+    // the ticks to wait before the next run, as asked by the current tick
+    long      sleep;
+    // the exception thrown by the compute phase of the current tick, if any
+    Throwable failure;
+
     /**
      * Returns true if this task has been cancelled.
      *
      * @return true if the task has been cancelled
      * @throws IllegalStateException if task was not scheduled yet
      */
-    public synchronized boolean isCancelled() throws IllegalStateException {
+    public boolean isCancelled() throws IllegalStateException {
         checkScheduled();
-        return task.isCancelled();
+        return this.index == -1;
     }
 
     /**
-     * Attempts to cancel this task.
-     *
-     * @throws IllegalStateException if task was not scheduled yet
+     * Ends this task once the {@link SpellTickEngine} removed it.
      */
-    private synchronized void cancel() throws IllegalStateException {
-        Bukkit.getScheduler().cancelTask(getTaskId());
+    void end() {
         onEnd();
-        if (this.meta == null) {
-            return;
-        }
         // remove this metadata from casting in the caster metadata map instance
         SpellMetadataProvider.onCastEnd(this.meta);
+        HitLedger.close(this.meta);
         // call the end event on cancel
         EndSpellCastEvent called = new EndSpellCastEvent(this.meta);
         called.callEvent();
     }
 
+    /**
+     * Gets the entity casting the spell, whose scheduler ticks this task with the entity scheduler.
+     *
+     * @throws IllegalStateException if task was not scheduled yet
+     */
+    public @NotNull LivingEntity getCaster() throws IllegalStateException {
+        checkScheduled();
+        return this.meta.entity();
+    }
+
     public abstract boolean shouldCancel();
 
-    protected abstract void tick();
+    /**
+     * Captures the state read by the compute phase of the current tick, called on the main thread once {@link #shouldCancel()} returned
+     * false.
+     */
+    protected void snapshot() {
+    }
 
-    protected abstract void onStart();
+    /**
+     * Computes the points of the current tick.
+     * <p>
+     * This phase may run on a worker thread in parallel with the other casts: it must not touch the world, and may only read the state
+     * captured by {@link #snapshot()} and the fields of this runnable.
+     *
+     * @param points the emptied buffer receiving the points of the tick, available to {@link #tick()} through {@link #points()}
+     */
+    protected void compute(@NotNull PointBuffer points) {
+    }
 
-    protected abstract void onEnd();
+    /**
+     * Gets the points computed for the current tick.
+     */
+    protected final @NotNull PointBuffer points() {
+        return this.points;
+    }
 
-    @Override
-    public final void run() {
-        if (shouldCancel()) {
-            cancel();
-        } else {
-            tick();
+    protected abstract void tick();
+
+    /**
+     * Delays the next run of this task, which happens the given amount of ticks after the current one instead of after its period.
+     * <p>
+     * A sleeping task is taken out of the {@link SpellTickEngine} until it wakes up, so it does not cost anything per tick, not even a
+     * call to {@link #shouldCancel()}.
+     *
+     * @param ticks the ticks to wait before the next run
+     * @throws IllegalArgumentException if ticks is not positive
+     */
+    protected final void sleep(long ticks) throws IllegalArgumentException {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("ticks must be positive");
         }
+        this.sleep = ticks;
     }
 
+    protected abstract void onStart();
+
+    protected abstract void onEnd();
+
     /**
      * Schedules this to repeatedly run until cancelled, starting after the specified number of server ticks.
      *
      * @param meta the reference to the spell scheduling task
-     * @return a BukkitTask that contains the id number
      * @throws IllegalArgumentException if meta is null
      * @throws IllegalStateException    if this was already scheduled
      * @see SpellRunnable#runTask(SpellMetadata, long, long)
      */
-    @NotNull
-    public synchronized BukkitTask runTask(@NotNull SpellMetadata meta) throws IllegalArgumentException, IllegalStateException {
-        return runTask(meta, 0L, 1L);
+    public void runTask(@NotNull SpellMetadata meta) throws IllegalArgumentException, IllegalStateException {
+        runTask(meta, 0L, 1L);
     }
 
     /**
      * Schedules this to repeatedly run until cancelled, starting after the specified number of server ticks.
+     * <p>
+     * Every cast is ticked by the {@link SpellTickEngine} of the plugin.
      *
      * @param meta   the reference to the spell scheduling task
      * @param delay  the ticks to wait before running the task
      * @param period the ticks to wait between runs
-     * @return a BukkitTask that contains the id number
      * @throws IllegalArgumentException if meta is null
      * @throws IllegalStateException    if this was already scheduled
      */
-    @NotNull
-    public synchronized BukkitTask runTask(@NotNull SpellMetadata meta, long delay, long period)
-        throws IllegalArgumentException, IllegalStateException {
+    public void runTask(@NotNull SpellMetadata meta, long delay, long period) throws IllegalArgumentException, IllegalStateException {
+        if (meta == null) {
+            throw new IllegalArgumentException("meta cannot be null");
+        }
         checkNotYetScheduled();
         // attach this metadata as casting in the entity metadata map instance
         SpellMetadataProvider.onCastStart(meta);
+        // track the victims processed by this cast
+        Ability ability = Ability.byHandler(meta.cast().getHandler());
+        HitLedger.open(meta, ability == null ? HitLedger.Scope.TICK : ability.getHitScope());
         onStart();
         this.meta = meta;
-        return setupTask(Bukkit.getScheduler().runTaskTimer(meta.plugin(), this, delay, period));
-    }
-
-    /**
-     * Gets the task id for this runnable.
-     *
-     * @return the task id that this runnable was scheduled as
-     * @throws IllegalStateException if task was not scheduled yet
-     */
-    public synchronized int getTaskId() throws IllegalStateException {
-        checkScheduled();
-        return this.task.getTaskId();
+        BlockTuneProvider.get().getSpellTickEngine().schedule(this, delay, period);
     }
 
     private void checkScheduled() {
-        if (this.task == null) {
+        if (this.meta == null) {
             throw new IllegalStateException("Not scheduled yet");
         }
     }
 
     private void checkNotYetScheduled() {
-        if (this.task != null) {
-            throw new IllegalStateException("Already scheduled as " + this.task.getTaskId());
+        if (this.meta != null) {
+            throw new IllegalStateException("Already scheduled");
         }
     }
-
-    @NotNull
-    private BukkitTask setupTask(@NotNull final BukkitTask task) {
-        this.task = task;
-        return task;
-    }
 }
@@ -0,0 +1,357 @@
+package me.kubbidev.blocktune.spell.handler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.blocktune.scheduler.SpellScheduler;
+import me.kubbidev.blocktune.scheduler.TimingWheel;
+import me.kubbidev.nexuspowered.terminable.Terminable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Ticks every active {@link SpellRunnable} from a single repeating task.
+ * <p>
+ * Active casts are kept in a dense array and removed by moving the last cast into the freed slot, so a pass over the casts is a plain
+ * loop over an array. Each cast carries the tick it runs next, which is how delays and periods are honoured without going through the
+ * server scheduler. Casts ending during a pass are ended all at once after the pass.
+ * <p>
+ * A pass runs the phases of {@link SpellRunnable} across every due cast: the cancel checks and snapshots on the main thread, then the
+ * compute phases, spread over the configured worker threads if any, then the ticks back on the main thread.
+ * <p>
+ * With the {@link SpellScheduler.Type#ENTITY entity} scheduler, each cast is instead ticked by its own task on the scheduler of its
+ * caster, running the three phases in a row on the thread owning the caster.
+ * <p>
+ * The engine also advances a {@link TimingWheel} every pass, on which sleeping casts wait to be put back into the pass and the
+ * cooldowns of the {@link me.kubbidev.blocktune.spell.CooldownStore} wait to expire.
+ */
+@ApiStatus.Internal
+public class SpellTickEngine implements Runnable {
+
+    // the index of the casts ticked on the scheduler of their caster
+    static final int OWNED    = -2;
+    // the index of the casts waiting on the timing wheel to be ticked again
+    static final int SLEEPING = -3;
+
+    private final BlockTune      plugin;
+    private final SpellScheduler scheduler;
+
+    private SpellRunnable[] casts = new SpellRunnable[64];
+    private int             size;
+
+    // casts due during the current pass which were not cancelled
+    private SpellRunnable[] due = new SpellRunnable[64];
+    private int             dueSize;
+
+    // the threads running the compute phases, null to run them on the main thread
+    private final ExecutorService workers;
+    private final int             threads;
+
+    // casts which ended during the current pass, ended once every cast ticked
+    private final List<SpellRunnable> ended = new ArrayList<>();
+
+    // cast -> task ticking it on the scheduler of its caster
+    private final Map<SpellRunnable, Terminable> owned = new ConcurrentHashMap<>();
+
+    private final TimingWheel        wheel;
+    private final Set<SpellRunnable> sleeping = new ReferenceOpenHashSet<>();
+
+    // the number of the current pass
+    private long tick;
+
+    public SpellTickEngine(@NotNull BlockTune plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getSpellScheduler();
+        this.wheel = new TimingWheel(plugin.getLogger());
+        this.threads = plugin.getConfiguration().get(ConfigKeys.SPELL_WORKER_THREADS);
+        this.workers = this.threads == 0 ? null : Executors.newFixedThreadPool(this.threads, new ThreadFactoryBuilder()
+            .setNameFormat("blocktune-spell-worker-%d")
+            .setDaemon(true)
+            .build());
+    }
+
+    /**
+     * Starts ticking the casts every server tick, until the plugin disables.
+     */
+    public void start() {
+        this.scheduler.runRepeating(this, 1L, 1L).bindWith(this.plugin);
+    }
+
+    /**
+     * Gets the amount of casts currently ticked by the engine.
+     */
+    public int size() {
+        return this.size + this.sleeping.size() + this.owned.size();
+    }
+
+    /**
+     * Gets the timing wheel advanced by the engine once per tick.
+     */
+    public @NotNull TimingWheel getTimingWheel() {
+        return this.wheel;
+    }
+
+    /**
+     * Adds the given cast to the engine.
+     *
+     * @param cast   the cast to tick
+     * @param delay  the ticks to wait before the first run, a delay of zero waiting for the next pass
+     * @param period the ticks to wait between runs
+     */
+    void schedule(@NotNull SpellRunnable cast, long delay, long period) {
+        if (this.scheduler.getType() == SpellScheduler.Type.ENTITY) {
+            scheduleOwned(cast, delay, period);
+            return;
+        }
+        if (this.size == this.casts.length) {
+            this.casts = Arrays.copyOf(this.casts, this.size << 1);
+        }
+        cast.index = this.size;
+        cast.nextRun = this.tick + Math.max(1L, delay);
+        cast.period = Math.max(1L, period);
+        this.casts[this.size++] = cast;
+    }
+
+    @Override
+    public void run() {
+        long tick = ++this.tick;
+        // wake up the casts sleeping until this tick, before the pass visits them
+        this.wheel.advance(tick);
+        for (int i = 0; i < this.size; ) {
+            SpellRunnable cast = this.casts[i];
+            if (cast.nextRun > tick) {
+                i++;
+                continue;
+            }
+            cast.nextRun = tick + cast.period;
+            try {
+                if (cast.shouldCancel()) {
+                    // the last cast was moved into this slot, it is visited next
+                    remove(i);
+                    continue;
+                }
+                cast.points.clear();
+                cast.snapshot();
+            } catch (Throwable t) {
+                this.plugin.getLogger().log(Level.SEVERE, "Exception while ticking a spell cast", t);
+                remove(i);
+                continue;
+            }
+            if (this.dueSize == this.due.length) {
+                this.due = Arrays.copyOf(this.due, this.dueSize << 1);
+            }
+            this.due[this.dueSize++] = cast;
+            i++;
+        }
+        computeAll();
+
+        for (int i = 0; i < this.dueSize; i++) {
+            SpellRunnable cast = this.due[i];
+            this.due[i] = null;
+            // the cast may have been ended by the tick of another one
+            if (cast.index == -1) {
+                continue;
+            }
+            try {
+                if (cast.failure != null) {
+                    throw cast.failure;
+                }
+                cast.tick();
+                if (cast.sleep > 0 && cast.index >= 0) {
+                    sleep(cast);
+                }
+            } catch (Throwable t) {
+                this.plugin.getLogger().log(Level.SEVERE, "Exception while ticking a spell cast", t);
+                cast.failure = null;
+                remove(cast.index);
+            }
+        }
+        this.dueSize = 0;
+        endAll();
+    }
+
+    private void sleep(SpellRunnable cast) {
+        long ticks = cast.sleep;
+        cast.sleep = 0;
+        // leave the pass without ending the cast
+        int index = cast.index;
+        SpellRunnable last = this.casts[--this.size];
+        this.casts[index] = last;
+        last.index = index;
+        this.casts[this.size] = null;
+
+        cast.index = SLEEPING;
+        this.sleeping.add(cast);
+        this.wheel.schedule(ticks, () -> wake(cast));
+    }
+
+    private void wake(SpellRunnable cast) {
+        if (cast.index != SLEEPING || !this.sleeping.remove(cast)) {
+            return;
+        }
+        if (this.size == this.casts.length) {
+            this.casts = Arrays.copyOf(this.casts, this.size << 1);
+        }
+        cast.index = this.size;
+        cast.nextRun = this.tick;
+        this.casts[this.size++] = cast;
+    }
+
+    private void computeAll() {
+        SpellRunnable[] due = this.due;
+        int count = this.dueSize;
+        if (this.workers == null || count < 2) {
+            compute(due, 0, count);
+            return;
+        }
+        int chunks = Math.min(this.threads, count);
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = c * count / chunks;
+            int to = (c + 1) * count / chunks;
+            tasks.add(() -> {
+                compute(due, from, to);
+                return null;
+            });
+        }
+        try {
+            // every compute phase completes before the ticks read their points
+            this.workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void compute(SpellRunnable[] casts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            SpellRunnable cast = casts[i];
+            try {
+                cast.compute(cast.points);
+            } catch (Throwable t) {
+                cast.failure = t;
+            }
+        }
+    }
+
+    private void scheduleOwned(SpellRunnable cast, long delay, long period) {
+        cast.index = OWNED;
+        cast.period = Math.max(1L, period);
+        // the task is registered before it may run, the scheduler of the caster possibly running on another thread
+        this.owned.put(cast, Terminable.EMPTY);
+        Terminable task = this.scheduler.runRepeating(cast.getCaster(), () -> tickOwned(cast), () -> endOwned(cast),
+            Math.max(1L, delay), cast.period);
+        if (this.owned.replace(cast, Terminable.EMPTY, task)) {
+            return;
+        }
+        // the cast already ended
+        task.closeSilently();
+    }
+
+    private void tickOwned(SpellRunnable cast) {
+        if (cast.index != OWNED) {
+            return;
+        }
+        // the task of the caster keeps running while the cast sleeps
+        if (cast.sleep > 1) {
+            cast.sleep--;
+            return;
+        }
+        cast.sleep = 0;
+        try {
+            if (cast.shouldCancel()) {
+                endOwned(cast);
+                return;
+            }
+            cast.points.clear();
+            cast.snapshot();
+            cast.compute(cast.points);
+            cast.tick();
+        } catch (Throwable t) {
+            this.plugin.getLogger().log(Level.SEVERE, "Exception while ticking a spell cast", t);
+            endOwned(cast);
+        }
+    }
+
+    private void endOwned(SpellRunnable cast) {
+        Terminable task = this.owned.remove(cast);
+        if (task == null) {
+            return;
+        }
+        task.closeSilently();
+        cast.index = -1;
+        try {
+            cast.end();
+        } catch (Throwable t) {
+            this.plugin.getLogger().log(Level.SEVERE, "Exception while ending a spell cast", t);
+        }
+    }
+
+    /**
+     * Ends every active cast and stops the worker threads.
+     */
+    public void shutdown() {
+        cancelAll();
+        this.wheel.clear();
+        if (this.workers != null) {
+            this.workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Ends every active cast, as if all of them were cancelled.
+     */
+    public void cancelAll() {
+        while (this.size > 0) {
+            remove(this.size - 1);
+        }
+        for (SpellRunnable cast : this.sleeping) {
+            cast.index = -1;
+            this.ended.add(cast);
+        }
+        // the timeouts waking them up are left on the wheel, which is shared, and find them ended
+        this.sleeping.clear();
+        endAll();
+        for (SpellRunnable cast : List.copyOf(this.owned.keySet())) {
+            endOwned(cast);
+        }
+    }
+
+    private void remove(int index) {
+        SpellRunnable cast = this.casts[index];
+        SpellRunnable last = this.casts[--this.size];
+        this.casts[index] = last;
+        last.index = index;
+        this.casts[this.size] = null;
+
+        cast.index = -1;
+        this.ended.add(cast);
+    }
+
+    private void endAll() {
+        if (this.ended.isEmpty()) {
+            return;
+        }
+        // ending a cast calls an event, whose listeners may end other casts
+        for (int i = 0; i < this.ended.size(); i++) {
+            SpellRunnable cast = this.ended.get(i);
+            try {
+                cast.end();
+            } catch (Throwable t) {
+                this.plugin.getLogger().log(Level.SEVERE, "Exception while ending a spell cast", t);
+            }
+        }
+        this.ended.clear();
+    }
+}
@@ -1,7 +1,17 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -12,13 +22,44 @@ import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class BeneficentRadiance extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The spinning arc drawn around the caster, one frame per tick.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double t = 0.0;
+        while ((t += Math.PI / 2.0) < Math.PI * 8.0) {
+            builder.frame();
+            for (double i = 0.0; i < Math.PI / 2.0; i += Math.PI / 24.0) {
+                double x = Math.cos(i + t) * 2;
+                double y = Math.sin(i + t) * 2;
+                builder.point(0, x, y, 0);
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -28,84 +69,91 @@ public class BeneficentRadiance extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
+
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
-            Location velocity = null;
+            final Mat3d rotation = new Mat3d();
+
+            // the velocity never changes during the cast, and is copied by the server when applied
+            Vector   velocity = null;
+            Location location = null;
             double   t        = 0.0;
+            int      frame    = 0;
 
             @Override
             public boolean shouldCancel() {
                 return !caster.isValid() || (t += Math.PI / 2.0) >= Math.PI * 8.0;
             }
 
+            @Override
+            protected void snapshot() {
+                location = EntityBody.BODY.getLocation(caster);
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                SHAPE.transform(this.frame, this.rotation, location.getX(), location.getY(), location.getZ(), points);
+            }
+
             @Override
             protected void tick() {
-                Location location = EntityBody.BODY.getLocation(caster);
-                caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
-                caster.setVelocity(this.velocity.toVector());
+                emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
+                caster.setVelocity(this.velocity);
 
-                Particle.FLAME.builder().location(location)
-                    .count(8).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
+                emitter.spawn(Particle.FLAME, location, 8, 0.2, 0.2, 0.2, 0.05);
 
-                Particle.INSTANT_EFFECT.builder().location(location)
-                    .count(4).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
+                emitter.spawn(Particle.INSTANT_EFFECT, location, 4, 0.2, 0.2, 0.2, 0.05);
 
-                Particle.DUST.builder().location(location).color(Color.RED, 2.f)
-                    .count(2).offset(0.1, 0.1, 0.1).spawn();
+                emitter.spawn(Particle.DUST, location, 2, 0.1, 0.1, 0.1, 1.0, RED_DUST, true);
 
-                for (double i = 0.0; i < Math.PI / 2.0; i += Math.PI / 24.0) {
-                    double x = Math.cos(i + t) * 2;
-                    double y = Math.sin(i + t) * 2;
+                PointBuffer points = points();
+                this.frame++;
 
-                    Vector rotated = new Vector(x, y, 0)
-                        .rotateAroundX(Math.toRadians(velocity.getPitch()))
-                        .rotateAroundY(Math.toRadians(-velocity.getYaw()));
+                World world = location.getWorld();
+                SweptVolume volume = SweptVolume.local(world).add(points);
+                for (int p = 0; p < points.size(); p++) {
+                    double x = points.x(p);
+                    double y = points.y(p);
+                    double z = points.z(p);
 
-                    Location displayLoc = location.clone().add(rotated);
-                    UtilityMethod.attack(meta, displayLoc,
-                        damage,
-                        radius,
-                        knockback,
-                        repulsion, true, Element.FIRE,
-                        DamageType.MAGIC,
-                        DamageType.SPELL
-                    );
+                    ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
 
-                    Particle.FLAME.builder().location(displayLoc)
-                        .count(4).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
+                    emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.05);
 
-                    Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                        .count(2).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
+                    emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.2, 0.2, 0.2, 0.05);
 
-                    Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                        .offset(0.1, 0.1, 0.1).spawn();
+                    emitter.spawn(detail, Particle.DUST, world, x, y, z, 1, 0.1, 0.1, 0.1, 1.0, RED_DUST, true);
 
-                    Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f).spawn();
+                    emitter.spawn(detail, Particle.DUST, world, x, y, z, 1, 0.0, 0.0, 0.0, 1.0, RED_DUST, true);
                 }
+                UtilityMethod.attack(meta, volume,
+                    damage,
+                    radius,
+                    knockback,
+                    repulsion, true, Element.FIRE,
+                    DamageType.MAGIC,
+                    DamageType.SPELL
+                );
             }
 
             @Override
             protected void onStart() {
                 Location location = EntityBody.BODY.getLocation(caster);
-                caster.getWorld().playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.0f);
-                caster.getWorld().playSound(caster, Sound.ENTITY_ZOMBIE_BREAK_WOODEN_DOOR, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ENTITY_ZOMBIE_BREAK_WOODEN_DOOR, 0.5f, 1.0f);
 
                 if (this.velocity == null) {
-                    this.velocity = UtilityMethod.getForwardVelocity(caster, true).multiply(0.8)
-                        .toLocation(caster.getWorld(),
-                            location.getYaw(),
-                            location.getPitch()
-                        );
+                    this.velocity = UtilityMethod.getForwardVelocity(caster, true, new Vec3d()).multiply(0.8).toVector();
+                    this.rotation.setRotation(location.getPitch(), location.getYaw());
                 }
-                Particle.FLAME.builder().location(location)
-                    .count(20).extra(0.5).spawn();
+                emitter.spawn(Particle.FLAME, location, 20, 0.0, 0.0, 0.0, 0.5);
 
-                Particle.CLOUD.builder().location(location)
-                    .count(20).extra(0.5).spawn();
+                emitter.spawn(Particle.CLOUD, location, 20, 0.0, 0.0, 0.0, 0.5);
             }
 
             @Override
@@ -1,23 +1,65 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
 import me.kubbidev.spellcaster.spell.handler.SpellHandler;
 import me.kubbidev.spellcaster.spell.result.def.SimpleSpellResult;
 import org.bukkit.Color;
-import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class BurningBonesSummerSun extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .stride(2)
+        .particle(Particle.SWEEP_ATTACK, ParticleDetail.HIGH)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The widening spiral drawn in front of the caster, one frame per tick.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double t = 0.0;
+        while ((t += Math.PI / 2.0) < Math.PI * 8.0) {
+            builder.frame();
+            for (double i = 0.0; i < Math.PI / 2.0; i += Math.PI / 24.0) {
+                double x = Math.cos(i + t) * t / 5.0;
+                double y = Math.sin(i + t) * t / 5.0;
+                double z = t / 4;
+                builder.point(0, x, y, z);
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -27,65 +69,77 @@ public class BurningBonesSummerSun extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
+
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
-            double t = 0.0;
+            final Mat3d rotation = new Mat3d();
+            final Vec3d origin   = new Vec3d();
+
+            double t     = 0.0;
+            int    frame = 0;
 
             @Override
             public boolean shouldCancel() {
                 return !caster.isValid() || (t += Math.PI / 2.0) >= Math.PI * 8.0;
             }
 
+            @Override
+            protected void snapshot() {
+                this.origin.set(caster.getX(), caster.getY(), caster.getZ());
+                this.rotation.setRotation(caster.getPitch(), caster.getYaw());
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                SHAPE.transform(this.frame, this.rotation, this.origin.getX(), this.origin.getY(), this.origin.getZ(), points);
+            }
+
             @Override
             protected void tick() {
-                Location location = caster.getLocation();
-                caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
                 caster.swingMainHand();
 
                 Vector currentVelocity = caster.getVelocity();
-                Vector reducedVelocity = currentVelocity.clone().multiply(1.0 / 3.0);
-                caster.setVelocity(new Vector(reducedVelocity.getX(), currentVelocity.getY(), reducedVelocity.getZ()));
-
-                for (double i = 0.0; i < Math.PI / 2.0; i += Math.PI / 24.0) {
-                    double x = Math.cos(i + t) * t / 5.0;
-                    double y = Math.sin(i + t) * t / 5.0;
-                    double z = t / 4;
-
-                    Vector rotated = new Vector(x, y, z)
-                        .rotateAroundX(Math.toRadians(location.getPitch()))
-                        .rotateAroundY(Math.toRadians(-location.getYaw()));
-
-                    Location displayLoc = location.clone().add(rotated);
-                    UtilityMethod.attack(meta, displayLoc,
-                        damage,
-                        radius,
-                        knockback,
-                        repulsion, false, Element.FIRE,
-                        DamageType.MAGIC,
-                        DamageType.SPELL
-                    );
-
-                    Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                        .offset(0.1, 0.1, 0.1).spawn();
-
-                    Particle.FLAME.builder().location(displayLoc)
-                        .count(4).offset(0.2, 0.2, 0.2).extra(0.1).spawn();
-
-                    Particle.SWEEP_ATTACK.builder().location(displayLoc)
-                        .extra(0.01).spawn();
-
-                    Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                        .count(2).offset(0.5, 0.5, 0.5).spawn();
+                caster.setVelocity(currentVelocity.setX(currentVelocity.getX() * (1.0 / 3.0)).setZ(currentVelocity.getZ() * (1.0 / 3.0)));
+
+                PointBuffer points = points();
+                this.frame++;
+
+                World world = caster.getWorld();
+                SweptVolume volume = SweptVolume.local(world).add(points);
+                for (int p = 0; p < points.size(); p++) {
+                    double x = points.x(p);
+                    double y = points.y(p);
+                    double z = points.z(p);
+
+                    ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
+
+                    emitter.spawn(detail, Particle.DUST, world, x, y, z, 1, 0.1, 0.1, 0.1, 1.0, RED_DUST, true);
+
+                    emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.1);
+
+                    emitter.spawn(detail, Particle.SWEEP_ATTACK, world, x, y, z, 1, 0.0, 0.0, 0.0, 0.01);
+
+                    emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.5, 0.5, 0.5, 1.0);
                 }
+                UtilityMethod.attack(meta, volume,
+                    damage,
+                    radius,
+                    knockback,
+                    repulsion, false, Element.FIRE,
+                    DamageType.MAGIC,
+                    DamageType.SPELL
+                );
             }
 
             @Override
             protected void onStart() {
-                caster.getWorld().playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
             }
 
             @Override
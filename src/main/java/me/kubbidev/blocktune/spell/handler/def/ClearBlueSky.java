@@ -1,7 +1,16 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -15,8 +24,61 @@ import org.jetbrains.annotations.ApiStatus;
 @ApiStatus.Experimental
 public class ClearBlueSky extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
     private static final double X_AXIS_ROTATION = -22.5;
 
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .layer(1, ParticleDetail.MEDIUM)
+        .layer(2, ParticleDetail.MEDIUM)
+        .stride(2)
+        .particle(Particle.SWEEP_ATTACK, ParticleDetail.HIGH)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The ring drawn when the caster reaches the top of its jump.
+     */
+    private static final SpellShape RING;
+
+    /**
+     * The quarter of circle swept each tick of the second phase.
+     */
+    private static final SpellShape SWEEP;
+
+    static {
+        SpellShape.Builder ring = SpellShape.builder().frame();
+        for (int layer = 0; layer < 3; layer++) {
+            double layerRadius = 2.5 + layer * 0.33;
+
+            for (double i = 0; i <= Math.PI * 2; i += Math.PI / 18) {
+                double x = Math.cos(i) * layerRadius;
+                double y = Math.sin(i) * layerRadius;
+                ring.point(layer, x, y, 0.0, Math.toRadians(X_AXIS_ROTATION), 0.0);
+            }
+        }
+        RING = ring.build();
+
+        SpellShape.Builder sweep = SpellShape.builder();
+        double theta = 0.0;
+        while ((theta += Math.PI / 2) <= Math.PI * 2) {
+            sweep.frame();
+            for (int layer = 0; layer < 4; layer++) {
+                double layerRadius = 6.0 + layer * 0.66;
+
+                for (double i = 0; i <= Math.PI / 2; i += Math.PI / 36) {
+                    double x = Math.cos(i + theta) * layerRadius;
+                    double y = Math.sin(i + theta) * layerRadius;
+                    sweep.point(layer, x, y, 0.0, Math.toRadians(X_AXIS_ROTATION), 0.0);
+                }
+            }
+        }
+        SWEEP = sweep.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -26,17 +88,22 @@ public class ClearBlueSky extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
+
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
+            final Mat3d rotation = new Mat3d();
+
             Location location = null;
             int      t1       = 0;
             int      t2       = 0;
 
             double theta = 0.0;
+            int    frame = 0;
 
             @Override
             public boolean shouldCancel() {
@@ -51,79 +118,75 @@ public class ClearBlueSky extends SpellHandler<SimpleSpellResult> {
                     if (location == null) {
                         location = caster.getLocation();
                     }
-                    location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
-                    location.getWorld().playSound(location, "minecraft:custom.generic.sword_sweep", 0.2f, 1.f);
+                    emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                    emitter.playSound(location, "minecraft:custom.generic.sword_sweep", 0.2f, 1.f);
 
-                    for (int layer = 0; layer < 3; layer++) {
-                        double layerRadius = 2.5 + layer * 0.33;
+                    // the tilt is baked into the shapes, only the yaw of the caster is left to apply
+                    this.rotation.setRotation(0.0, location.getYaw());
 
-                        for (double i = 0; i <= Math.PI * 2; i += Math.PI / 18) {
-                            double x = Math.cos(i) * layerRadius;
-                            double y = Math.sin(i) * layerRadius;
+                    PointBuffer points = RING.transform(0, this.rotation,
+                        location.getX(), location.getY(), location.getZ(), PointBuffer.local());
 
-                            Vector rotated = new Vector(x, y, 0.0)
-                                .rotateAroundX(Math.toRadians(X_AXIS_ROTATION))
-                                .rotateAroundY(Math.toRadians(-location.getYaw()));
+                    World world = location.getWorld();
+                    for (int p = 0; p < points.size(); p++) {
+                        double x = points.x(p);
+                        double y = points.y(p);
+                        double z = points.z(p);
 
-                            Location displayLoc = location.clone().add(rotated);
+                        ParticleDetail detail = emitter.detail(RING.layer(p), p);
 
-                            Particle.FLAME.builder().location(displayLoc)
-                                .count(2).offset(0.1, 0.1, 0.1).extra(0).spawn();
+                        emitter.spawn(detail, Particle.FLAME, world, x, y, z, 2, 0.1, 0.1, 0.1, 0);
 
-                            Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                .count(2).offset(0.1, 0.1, 0.1).spawn();
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.1, 0.1, 0.1, 1.0);
 
-                            Particle.SWEEP_ATTACK.builder().location(displayLoc).spawn();
-                            if (layer == 2) {
-                                Particle.FLASH.builder().location(displayLoc).spawn();
-                            }
+                        emitter.spawn(detail, Particle.SWEEP_ATTACK, world, x, y, z);
+                        if (RING.layer(p) == 2) {
+                            emitter.spawn(detail, Particle.FLASH, world, x, y, z);
                         }
                     }
+                    // the sweep starts 7 ticks after the ring
+                    sleep(7);
+                    return;
                 }
 
-                if (t2 > 0 && ++t2 > 8 && (theta += Math.PI / 2) <= Math.PI * 2) {
+                if (t2 > 0 && (theta += Math.PI / 2) <= Math.PI * 2) {
                     Vector currentVelocity = caster.getVelocity();
                     caster.setVelocity(new Vector(currentVelocity.getX(), Math.max(currentVelocity.getY(), 0.0), currentVelocity.getZ()));
 
                     if (theta == Math.PI / 2) {
-                        location.getWorld().playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
-                        location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                        emitter.playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
+                        emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
                         caster.swingMainHand();
                     }
 
-                    for (int layer = 0; layer < 4; layer++) {
-                        double layerRadius = 6.0 + layer * 0.66;
-
-                        for (double i = 0; i <= Math.PI / 2; i += Math.PI / 36) {
-                            double x = Math.cos(i + this.theta) * layerRadius;
-                            double y = Math.sin(i + this.theta) * layerRadius;
-
-                            Vector rotated = new Vector(x, y, 0.0)
-                                .rotateAroundX(Math.toRadians(X_AXIS_ROTATION))
-                                .rotateAroundY(Math.toRadians(-location.getYaw()));
-
-                            Location displayLoc = location.clone().add(rotated);
-                            UtilityMethod.attack(meta, displayLoc,
-                                damage,
-                                radius,
-                                knockback,
-                                repulsion, false, Element.FIRE,
-                                DamageType.MAGIC,
-                                DamageType.SPELL
-                            );
-
-                            if (layer == 1 || layer == 2) {
-                                Particle.FLAME.builder().location(displayLoc)
-                                    .count(4).offset(0.2, 0.2, 0.2).extra(0.03).force(true).spawn();
-                            }
-
-                            if (layer == 0 || layer == 3) {
-                                Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                                    .offset(0.1, 0.1, 0.1).spawn();
-                            }
+                    PointBuffer points = SWEEP.transform(this.frame++, this.rotation,
+                        location.getX(), location.getY(), location.getZ(), PointBuffer.local());
+
+                    World world = location.getWorld();
+                    SweptVolume volume = SweptVolume.local(world).add(points);
+                    for (int p = 0; p < points.size(); p++) {
+                        double x = points.x(p);
+                        double y = points.y(p);
+                        double z = points.z(p);
+
+                        int layer = SWEEP.layer(p);
+                        ParticleDetail detail = emitter.detail(layer, p);
+                        if (layer == 1 || layer == 2) {
+                            emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.03);
                         }
 
+                        if (layer == 0 || layer == 3) {
+                            emitter.spawn(detail, Particle.DUST, world, x, y, z, 1, 0.1, 0.1, 0.1, 1.0, RED_DUST, true);
+                        }
                     }
+                    UtilityMethod.attack(meta, volume,
+                        damage,
+                        radius,
+                        knockback,
+                        repulsion, false, Element.FIRE,
+                        DamageType.MAGIC,
+                        DamageType.SPELL
+                    );
                 }
             }
 
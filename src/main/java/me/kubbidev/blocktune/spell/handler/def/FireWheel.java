@@ -1,7 +1,17 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -10,13 +20,50 @@ import me.kubbidev.spellcaster.spell.result.def.SimpleSpellResult;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class FireWheel extends SpellHandler<SimpleSpellResult> {
 
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .layer(1, ParticleDetail.MEDIUM)
+        .layer(2, ParticleDetail.MEDIUM)
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The wheel drawn once the caster lands its jump, one frame per tick.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double t = 0.0;
+        while ((t += Math.PI / 2.0) <= Math.PI * 10.0) {
+            if (t < Math.PI * 4 || t > Math.PI * 6) {
+                continue;
+            }
+            builder.frame();
+            for (int layer = 0; layer < 4; layer++) {
+                double layerRadius = 3.5 + layer * 0.33;
+
+                for (double i = 0; i < Math.PI / 2; i += Math.PI / 24) {
+                    double y = Math.sin(i + t) * layerRadius + 0.6;
+                    double z = Math.cos(i + t) * layerRadius;
+                    builder.point(layer, 0, y, -z);
+                }
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -26,15 +73,20 @@ public class FireWheel extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
+
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
+            final Mat3d rotation = new Mat3d();
+
             Location location = null;
 
-            double t = 0.0;
+            double t     = 0.0;
+            int    frame = 0;
 
             @Override
             public boolean shouldCancel() {
@@ -42,69 +94,75 @@ public class FireWheel extends SpellHandler<SimpleSpellResult> {
             }
 
             @Override
-            protected void tick() {
+            protected void snapshot() {
                 if (t == Math.PI * 4) {
-
-                    caster.swingMainHand();
                     if (location == null) {
                         location = caster.getLocation();
                     }
-                    location.getWorld().playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
-                    location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                    this.rotation.setRotation(location.getPitch(), location.getYaw());
+                }
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                if ((t >= Math.PI * 4) && (t <= Math.PI * 6)) {
+                    SHAPE.transform(this.frame, this.rotation, location.getX(), location.getY(), location.getZ(), points);
+                }
+            }
+
+            @Override
+            protected void tick() {
+                if (t == Math.PI * 4) {
+
+                    caster.swingMainHand();
+                    emitter.playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
+                    emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
                 }
 
                 if ((t >= Math.PI * 4) && (t <= Math.PI * 6)) {
-                    for (int layer = 0; layer < 4; layer++) {
-                        double layerRadius = 3.5 + layer * 0.33;
-
-                        for (double i = 0; i < Math.PI / 2; i += Math.PI / 24) {
-                            double y = Math.sin(i + t) * layerRadius + 0.6;
-                            double z = Math.cos(i + t) * layerRadius;
-
-                            Vector rotated = new Vector(0, y, -z)
-                                .rotateAroundX(Math.toRadians(location.getPitch()))
-                                .rotateAroundY(Math.toRadians(-location.getYaw()));
-
-                            Location displayLoc = location.clone().add(rotated);
-                            UtilityMethod.attack(meta, displayLoc,
-                                damage,
-                                radius,
-                                knockback,
-                                repulsion, false, Element.FIRE,
-                                DamageType.MAGIC,
-                                DamageType.SPELL
-                            );
-
-                            if (layer > 1) {
-                                Particle.FLAME.builder().location(displayLoc)
-                                    .count(4).offset(0.1, 0.1, 0.1).extra(0.02).spawn();
-                            } else {
-                                Particle.FLAME.builder().location(displayLoc)
-                                    .count(2).offset(0.1, 0.1, 0.1).extra(0.01).spawn();
-                            }
-                            Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                .count(2).offset(0.05, 0.05, 0.05).spawn();
+                    PointBuffer points = points();
+                    this.frame++;
+
+                    World world = location.getWorld();
+                    SweptVolume volume = SweptVolume.local(world).add(points);
+                    for (int p = 0; p < points.size(); p++) {
+                        double x = points.x(p);
+                        double y = points.y(p);
+                        double z = points.z(p);
+
+                        ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
+
+                        if (SHAPE.layer(p) > 1) {
+                            emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.1, 0.1, 0.1, 0.02);
+                        } else {
+                            emitter.spawn(detail, Particle.FLAME, world, x, y, z, 2, 0.1, 0.1, 0.1, 0.01);
                         }
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.05, 0.05, 0.05, 1.0);
                     }
+                    UtilityMethod.attack(meta, volume,
+                        damage,
+                        radius,
+                        knockback,
+                        repulsion, false, Element.FIRE,
+                        DamageType.MAGIC,
+                        DamageType.SPELL
+                    );
                 }
 
-                Particle.FLAME.builder().location(caster.getLocation())
-                    .count(4).offset(0.25, 0.25, 0.25).extra(0.0).spawn();
+                emitter.spawn(Particle.FLAME, caster.getWorld(), caster.getX(), caster.getY(), caster.getZ(), 4, 0.25, 0.25, 0.25, 0.0);
             }
 
             @Override
             protected void onStart() {
-                Vector velocity = UtilityMethod.getForwardVelocity(caster, true);
-                caster.setVelocity(velocity.setY(Math.max(caster.getVelocity().getY(), 0.6)));
+                Vec3d velocity = UtilityMethod.getForwardVelocity(caster, true, new Vec3d());
+                caster.setVelocity(velocity.setY(Math.max(caster.getVelocity().getY(), 0.6)).toVector());
 
                 Location location = caster.getLocation();
-                location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
 
-                Particle.FLAME.builder().location(location)
-                    .count(20).extra(0.5).spawn();
+                emitter.spawn(Particle.FLAME, location, 20, 0.0, 0.0, 0.0, 0.5);
 
-                Particle.CLOUD.builder().location(location)
-                    .count(20).extra(0.5).spawn();
+                emitter.spawn(Particle.CLOUD, location, 20, 0.0, 0.0, 0.0, 0.5);
             }
 
             @Override
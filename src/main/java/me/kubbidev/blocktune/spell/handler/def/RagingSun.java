@@ -1,7 +1,17 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -10,13 +20,42 @@ import me.kubbidev.spellcaster.spell.result.def.SimpleSpellResult;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class RagingSun extends SpellHandler<SimpleSpellResult> {
 
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .layer(1, ParticleDetail.MEDIUM)
+        .layer(2, ParticleDetail.MEDIUM)
+        .stride(2)
+        .build();
+
+    /**
+     * The half circle drawn by each of the two slashes.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder().frame();
+        for (int layer = 0; layer < 4; layer++) {
+            double layerRadius = 2.2 + layer * 0.33;
+
+            for (double i = 0; i <= Math.PI; i += Math.PI / 18) {
+                double x = Math.cos(i) * layerRadius;
+                double z = Math.sin(i) * layerRadius;
+                builder.point(layer, x, 1.0, z);
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -26,26 +65,45 @@ public class RagingSun extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
+
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
+            final Mat3d rotation  = new Mat3d();
+            final Vec3d direction = new Vec3d();
+            final Vec3d center    = new Vec3d();
+
             int t = 0;
 
             @Override
             public boolean shouldCancel() {
-                return !caster.isValid() || t++ > 5;
+                return !caster.isValid() || t++ > 1;
             }
 
             @Override
-            protected void tick() {
+            protected void snapshot() {
                 if (t == 1) {
-                    spawnCircularSlash(45.f, 67.5f);
+                    aimCircularSlash(45.f, 67.5f);
+                } else {
+                    aimCircularSlash(-45.f, -67.5f);
                 }
-                if (t == 6) {
-                    spawnCircularSlash(-45.f, -67.5f);
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                SHAPE.transform(0, this.rotation, this.center.getX(), this.center.getY(), this.center.getZ(), points);
+            }
+
+            @Override
+            protected void tick() {
+                spawnCircularSlash(points());
+                if (t == 1) {
+                    // the second slash follows 5 ticks after the first one
+                    sleep(5);
                 }
             }
 
@@ -59,60 +117,54 @@ public class RagingSun extends SpellHandler<SimpleSpellResult> {
 
             }
 
-            private void spawnCircularSlash(double offsetAngle, double yawAngle) {
-                caster.getWorld().playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
-                caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
-                caster.swingMainHand();
-
+            private void aimCircularSlash(double offsetAngle, double yawAngle) {
                 // block the pitch at 0 to avoid the hit point location
                 // being above or under the entity y when ray casting
                 Location location = caster.getLocation();
-                location.setPitch(0.f);
+                this.direction.direction(location.getYaw(), 0.f);
 
                 // rotate the direction of the caster looking direction to
                 // match the targeted yaw direction
-                Vector direction = location.getDirection();
-                direction.rotateAroundY(Math.toRadians(offsetAngle));
+                this.direction.rotateAroundY(Math.toRadians(offsetAngle));
 
                 // ray cast the offset center location of the circle we will spawn
-                Location offsetLocation = UtilityMethod.fastRayTrace(location, direction, 2.0);
-
-                for (int layer = 0; layer < 4; layer++) {
-                    double layerRadius = 2.2 + layer * 0.33;
-
-                    for (double i = 0; i <= Math.PI; i += Math.PI / 18) {
-                        double x = Math.cos(i) * layerRadius;
-                        double z = Math.sin(i) * layerRadius;
-
-                        Vector rotated = new Vector(x, 1.0, z)
-                            .rotateAroundY(Math.toRadians(-caster.getYaw() + yawAngle));
-
-                        Location displayLoc = offsetLocation.clone().add(rotated);
-                        UtilityMethod.attack(meta, displayLoc,
-                            damage,
-                            radius,
-                            knockback,
-                            repulsion, false, Element.FIRE,
-                            DamageType.MAGIC,
-                            DamageType.SPELL
-                        );
-
-                        if (layer == 0) {
-                            Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                .count(8).offset(0.1, 0.1, 0.1).spawn();
-                        } else {
-                            Particle.FLAME.builder().location(displayLoc)
-                                .count(4).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
-
-                            Particle.SWEEP_ATTACK.builder().location(displayLoc)
-                                .offset(0.2, 0.05, 0.2).spawn();
-
-                            Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                .offset(0.2, 0.5, 0.2).spawn();
-                        }
-                    }
+                UtilityMethod.fastRayTrace(location, this.direction, 2.0, this.center);
 
+                this.rotation.setRotation(0.0, caster.getYaw() - yawAngle);
+            }
+
+            private void spawnCircularSlash(PointBuffer points) {
+                emitter.playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
+                emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                caster.swingMainHand();
+
+                World world = caster.getWorld();
+                SweptVolume volume = SweptVolume.local(world).add(points);
+                for (int p = 0; p < points.size(); p++) {
+                    double x = points.x(p);
+                    double y = points.y(p);
+                    double z = points.z(p);
+
+                    ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
+
+                    if (SHAPE.layer(p) == 0) {
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 8, 0.1, 0.1, 0.1, 1.0);
+                    } else {
+                        emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.05);
+
+                        emitter.spawn(detail, Particle.SWEEP_ATTACK, world, x, y, z, 1, 0.2, 0.05, 0.2, 1.0);
+
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 1, 0.2, 0.5, 0.2, 1.0);
+                    }
                 }
+                UtilityMethod.attack(meta, volume,
+                    damage,
+                    radius,
+                    knockback,
+                    repulsion, false, Element.FIRE,
+                    DamageType.MAGIC,
+                    DamageType.SPELL
+                );
             }
         }.runTask(meta);
     }
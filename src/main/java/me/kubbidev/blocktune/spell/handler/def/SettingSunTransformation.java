@@ -1,7 +1,16 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -12,13 +21,52 @@ import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class SettingSunTransformation extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .layer(1, ParticleDetail.MEDIUM)
+        .layer(2, ParticleDetail.MEDIUM)
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The quarters of circle drawn once the caster starts falling, one frame per tick.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double t = 0.0;
+        while ((t += Math.PI / 2) <= 5 * Math.PI / 2) {
+            if (t <= 3 * Math.PI / 2) {
+                continue;
+            }
+            builder.frame();
+            for (int layer = 0; layer < 4; layer++) {
+                double layerRadius = 3.0 + layer * 0.66;
+
+                for (double i = 0; i <= Math.PI / 2; i += Math.PI / 24) {
+                    double x = Math.cos(i + t) * layerRadius;
+                    double y = Math.sin(i + t) * layerRadius;
+                    builder.point(layer, x, y, 0.0);
+                }
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -28,21 +76,43 @@ public class SettingSunTransformation extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
+
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
+            final Mat3d rotation = new Mat3d();
+
             Location location = null;
 
-            double t = 0.0;
+            double t     = 0.0;
+            int    frame = 0;
 
             @Override
             public boolean shouldCancel() {
                 return !caster.isValid() || (t += Math.PI / 2) > 5 * Math.PI / 2;
             }
 
+            @Override
+            protected void snapshot() {
+                if (t == Math.PI * 2) {
+                    if (location == null) {
+                        location = EntityBody.BODY.getLocation(caster);
+                    }
+                    this.rotation.setRotation(location.getPitch() + 90.f, location.getYaw());
+                }
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                if (t > 3 * Math.PI / 2) {
+                    SHAPE.transform(this.frame, this.rotation, location.getX(), location.getY(), location.getZ(), points);
+                }
+            }
+
             @Override
             protected void tick() {
                 if (t > 3 * Math.PI / 2) {
@@ -50,48 +120,39 @@ public class SettingSunTransformation extends SpellHandler<SimpleSpellResult> {
                         caster.setVelocity(caster.getVelocity().setY(0.0));
                     }
                     if (t == Math.PI * 2) {
-                        if (location == null) {
-                            location = EntityBody.BODY.getLocation(caster);
-                        }
-                        location.getWorld().playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
-                        location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
+                        emitter.playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
+                        emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
                         caster.swingMainHand();
                     }
 
-                    for (int layer = 0; layer < 4; layer++) {
-                        double layerRadius = 3.0 + layer * 0.66;
-
-                        for (double i = 0; i <= Math.PI / 2; i += Math.PI / 24) {
-                            double x = Math.cos(i + t) * layerRadius;
-                            double y = Math.sin(i + t) * layerRadius;
-
-                            Vector rotated = new Vector(x, y, 0.0)
-                                .rotateAroundX(Math.toRadians(location.getPitch() + 90.f))
-                                .rotateAroundY(Math.toRadians(-location.getYaw()));
-
-                            Location displayLoc = location.clone().add(rotated);
-                            UtilityMethod.attack(meta, displayLoc,
-                                damage,
-                                radius,
-                                knockback,
-                                repulsion, false, Element.FIRE,
-                                DamageType.MAGIC,
-                                DamageType.SPELL
-                            );
-
-                            if (layer == 2) {
-                                Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                                    .count(2).offset(0.1, 0.1, 0.1).spawn();
-                            } else {
-                                Particle.FLAME.builder().location(displayLoc)
-                                    .count(8).offset(0.1, 0.1, 0.1).extra(0.02).spawn();
-
-                                Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                    .count(2).offset(0.2, 0.2, 0.2).spawn();
-                            }
+                    PointBuffer points = points();
+                    this.frame++;
+
+                    World world = location.getWorld();
+                    SweptVolume volume = SweptVolume.local(world).add(points);
+                    for (int p = 0; p < points.size(); p++) {
+                        double x = points.x(p);
+                        double y = points.y(p);
+                        double z = points.z(p);
+
+                        ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
+
+                        if (SHAPE.layer(p) == 2) {
+                            emitter.spawn(detail, Particle.DUST, world, x, y, z, 2, 0.1, 0.1, 0.1, 1.0, RED_DUST, true);
+                        } else {
+                            emitter.spawn(detail, Particle.FLAME, world, x, y, z, 8, 0.1, 0.1, 0.1, 0.02);
 
+                            emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.2, 0.2, 0.2, 1.0);
                         }
                     }
+                    UtilityMethod.attack(meta, volume,
+                        damage,
+                        radius,
+                        knockback,
+                        repulsion, false, Element.FIRE,
+                        DamageType.MAGIC,
+                        DamageType.SPELL
+                    );
                 }
             }
 
@@ -101,8 +162,7 @@ public class SettingSunTransformation extends SpellHandler<SimpleSpellResult> {
                     caster.setVelocity(caster.getVelocity().setY(1.0));
                 }
 
-                Particle.CLOUD.builder().location(caster.getLocation())
-                    .count(15).extra(0.2).spawn();
+                emitter.spawn(Particle.CLOUD, caster.getLocation(), 15, 0.0, 0.0, 0.0, 0.2);
             }
 
             @Override
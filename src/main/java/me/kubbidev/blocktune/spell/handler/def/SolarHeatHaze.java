@@ -1,25 +1,71 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
 import me.kubbidev.spellcaster.spell.handler.SpellHandler;
 import me.kubbidev.spellcaster.spell.result.def.SimpleSpellResult;
 import org.bukkit.Color;
-import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class SolarHeatHaze extends SpellHandler<SimpleSpellResult> {
 
     private static final double OFFSET = Math.PI / 8.0;
 
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .layer(1, ParticleDetail.MEDIUM)
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The arc drawn by the spell, one frame per tick, already tilted around the z axis.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double cos = Math.cos(Math.PI / 5.0);
+        double sin = Math.sin(Math.PI / 5.0);
+
+        double theta = 0;
+        while ((theta += Math.PI / 6.0) <= Math.PI) {
+            builder.frame();
+            for (int layer = 0; layer < 3; layer++) {
+                double layerRadius = 3.2 + layer * 0.33;
+
+                for (double i = 0; i <= Math.PI / 6; i += Math.PI / 18) {
+                    double y = Math.sin(i + theta + OFFSET) * layerRadius + 1.5;
+                    double z = Math.cos(i + theta + OFFSET) * layerRadius;
+                    builder.point(layer, -sin * y, cos * y, -z);
+                }
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -29,13 +75,20 @@ public class SolarHeatHaze extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
+
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
+            final Mat3d                  rotation = new Mat3d();
+            final Vec3d                  origin   = new Vec3d();
+            final Particle.DustOptions[] dusts    = new Particle.DustOptions[3];
+
             int    t     = 0;
+            int    frame = 0;
             double theta = 0;
 
             @Override
@@ -43,56 +96,64 @@ public class SolarHeatHaze extends SpellHandler<SimpleSpellResult> {
                 return !caster.isValid() || (theta += Math.PI / 6.0) > Math.PI;
             }
 
+            @Override
+            protected void snapshot() {
+                this.origin.set(caster.getX(), caster.getY(), caster.getZ());
+                this.rotation.setRotation(caster.getPitch(), caster.getYaw());
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                SHAPE.transform(this.frame, this.rotation, this.origin.getX(), this.origin.getY(), this.origin.getZ(), points);
+            }
+
             @Override
             protected void tick() {
+                PointBuffer points = points();
+                this.frame++;
+
                 for (int layer = 0; layer < 3; layer++) {
-                    double layerRadius = 3.2 + layer * 0.33;
-
-                    for (double i = 0; i <= Math.PI / 6; i += Math.PI / 18) {
-                        double y = Math.sin(i + theta + OFFSET) * layerRadius + 1.5;
-                        double z = Math.cos(i + theta + OFFSET) * layerRadius;
-
-                        Vector rotated = new Vector(0, y, -z)
-                            .rotateAroundZ(Math.PI / 5.0)
-                            .rotateAroundX(Math.toRadians(caster.getLocation().getPitch()))
-                            .rotateAroundY(Math.toRadians(-caster.getLocation().getYaw()));
-
-                        Location displayLoc = caster.getLocation().add(rotated);
-                        UtilityMethod.attack(meta, displayLoc,
-                            damage,
-                            radius,
-                            knockback,
-                            repulsion, false, Element.FIRE,
-                            DamageType.MAGIC,
-                            DamageType.SPELL
-                        );
-
-                        if (theta < Math.PI / 2) {
-                            Particle.SOUL_FIRE_FLAME.builder().location(displayLoc)
-                                .count(4).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
-
-                            Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                                .count(4).offset(0.2, 0.2, 0.2).extra(0.02).spawn();
-                        } else {
-                            Particle.FLAME.builder().location(displayLoc)
-                                .count(4).offset(0.2, 0.2, 0.2).extra(0.05).spawn();
-                        }
-                        Particle.DUST.builder().location(displayLoc).color(Color.fromRGB(
-                                UtilityMethod.clampColorToRange(0.3 + t / 120.0), UtilityMethod.clampColorToRange(0.3),
-                                UtilityMethod.clampColorToRange(1.0 - t / 120.0)), 2.f)
-                            .count(4).offset(0.25, 0.25, 0.25).spawn();
-                    }
+                    this.dusts[layer] = new Particle.DustOptions(Color.fromRGB(
+                        UtilityMethod.clampColorToRange(0.3 + t / 120.0), UtilityMethod.clampColorToRange(0.3),
+                        UtilityMethod.clampColorToRange(1.0 - t / 120.0)), 2.f);
                     t += 5;
                 }
+
+                World world = caster.getWorld();
+                SweptVolume volume = SweptVolume.local(world).add(points);
+                for (int p = 0; p < points.size(); p++) {
+                    double x = points.x(p);
+                    double y = points.y(p);
+                    double z = points.z(p);
+
+                    ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
+
+                    if (theta < Math.PI / 2) {
+                        emitter.spawn(detail, Particle.SOUL_FIRE_FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.05);
+
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.02);
+                    } else {
+                        emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.2, 0.2, 0.2, 0.05);
+                    }
+                    emitter.spawn(detail, Particle.DUST, world, x, y, z, 4, 0.25, 0.25, 0.25, 1.0, this.dusts[SHAPE.layer(p)], true);
+                }
+                UtilityMethod.attack(meta, volume,
+                    damage,
+                    radius,
+                    knockback,
+                    repulsion, false, Element.FIRE,
+                    DamageType.MAGIC,
+                    DamageType.SPELL
+                );
             }
 
             @Override
             protected void onStart() {
                 caster.setVelocity(new Vector(0.0, Math.min(caster.getVelocity().getY(), 0.0), 0.0));
 
-                caster.getWorld().playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
-                caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
-                caster.getWorld().playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.0f);
+                emitter.playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.0f);
                 caster.swingMainHand();
             }
 
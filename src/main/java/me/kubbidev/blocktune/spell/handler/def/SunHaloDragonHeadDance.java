@@ -1,23 +1,63 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
 import me.kubbidev.spellcaster.spell.handler.SpellHandler;
 import me.kubbidev.spellcaster.spell.result.def.SimpleSpellResult;
 import org.bukkit.Color;
-import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class SunHaloDragonHeadDance extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The points swinging around the caster, the swing looping every 12 frames.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        int t2 = 0;
+        for (int frame = 0; frame < 12; frame++) {
+            builder.frame();
+            for (int i = 0; i < 10; i++) {
+                double x = Math.sin(Math.toRadians(t2)) * 3;
+                builder.point(0, x, 1, 0);
+                t2 += 3;
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -27,14 +67,20 @@ public class SunHaloDragonHeadDance extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
+
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
         new SpellRunnable() {
-            int t1 = 0;
-            int t2 = 0;
+            final Mat3d rotation = new Mat3d();
+            final Vec3d velocity = new Vec3d();
+            final Vec3d origin   = new Vec3d();
+
+            int t1    = 0;
+            int frame = 0;
 
             @Override
             public boolean shouldCancel() {
@@ -42,55 +88,63 @@ public class SunHaloDragonHeadDance extends SpellHandler<SimpleSpellResult> {
             }
 
             @Override
-            protected void tick() {
-                Vector velocity = UtilityMethod.getForwardVelocity(caster, false);
-                caster.setVelocity(velocity.multiply(0.8).setY(caster.getVelocity().getY()));
+            protected void snapshot() {
+                this.origin.set(caster.getX(), caster.getY(), caster.getZ());
+                this.rotation.setRotation(0.0, caster.getYaw());
+            }
+
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                SHAPE.transform(this.frame, this.rotation, this.origin.getX(), this.origin.getY(), this.origin.getZ(), points);
+            }
 
-                for (int i = 0; i < 10; i++) {
-                    double x = Math.sin(Math.toRadians(t2)) * 3;
-                    double y = 1;
-                    double z = 0;
+            @Override
+            protected void tick() {
+                UtilityMethod.getForwardVelocity(caster, false, this.velocity).multiply(0.8);
+                Vector currentVelocity = caster.getVelocity();
+                caster.setVelocity(currentVelocity.setX(this.velocity.getX()).setZ(this.velocity.getZ()));
 
-                    Vector rotated = new Vector(x, y, z)
-                        .rotateAroundY(Math.toRadians(-caster.getYaw()));
+                PointBuffer points = points();
+                this.frame = (this.frame + 1) % SHAPE.frameCount();
 
-                    Location displayLoc = caster.getLocation().clone().add(rotated);
-                    UtilityMethod.attack(meta, displayLoc,
-                        damage,
-                        radius,
-                        knockback,
-                        repulsion, true, Element.FIRE,
-                        DamageType.MAGIC,
-                        DamageType.SPELL
-                    );
+                World world = caster.getWorld();
+                SweptVolume volume = SweptVolume.local(world).add(points);
+                for (int p = 0; p < points.size(); p++) {
+                    double x = points.x(p);
+                    double y = points.y(p);
+                    double z = points.z(p);
 
-                    Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                        .count(2).offset(0.25, 0.25, 0.25).spawn();
+                    ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
 
-                    Particle.FLAME.builder().location(displayLoc)
-                        .count(4).offset(0.5, 0.5, 0.5).extra(0.1).spawn();
+                    emitter.spawn(detail, Particle.DUST, world, x, y, z, 2, 0.25, 0.25, 0.25, 1.0, RED_DUST, true);
 
-                    Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                        .count(2).offset(0.5, 0.5, 0.5).spawn();
+                    emitter.spawn(detail, Particle.FLAME, world, x, y, z, 4, 0.5, 0.5, 0.5, 0.1);
 
-                    t2 += 3;
+                    emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 2, 0.5, 0.5, 0.5, 1.0);
                 }
+                UtilityMethod.attack(meta, volume,
+                    damage,
+                    radius,
+                    knockback,
+                    repulsion, true, Element.FIRE,
+                    DamageType.MAGIC,
+                    DamageType.SPELL
+                );
                 if (t1 % 7 == 1) {
-                    caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
-                    caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 0.9f);
-                    caster.getWorld().playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 0.8f);
+                    emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                    emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 0.9f);
+                    emitter.playSound(caster, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 0.8f);
                 }
             }
 
             @Override
             protected void onStart() {
-                caster.getWorld().playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.f);
-                caster.getWorld().playSound(caster, Sound.ENTITY_ENDER_DRAGON_GROWL, 0.5f, 1.f);
+                emitter.playSound(caster, Sound.ITEM_TOTEM_USE, 0.5f, 1.f);
+                emitter.playSound(caster, Sound.ENTITY_ENDER_DRAGON_GROWL, 0.5f, 1.f);
 
-                Particle.EXPLOSION.builder().location(caster.getLocation())
-                    .count(2).offset(0.5, 0.5, 0.5).extra(2.0).spawn();
+                emitter.spawn(Particle.EXPLOSION, caster.getLocation(), 2, 0.5, 0.5, 0.5, 2.0);
 
-                Particle.FLASH.builder().location(caster.getLocation()).spawn();
+                emitter.spawn(Particle.FLASH, caster.getLocation());
             }
 
             @Override
@@ -1,7 +1,17 @@
 package me.kubbidev.blocktune.spell.handler.def;
 
+import me.kubbidev.blocktune.BlockTuneProvider;
 import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.AbilityParameter;
 import me.kubbidev.blocktune.spell.handler.SpellRunnable;
+import me.kubbidev.blocktune.spell.hit.SweptVolume;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.blocktune.spell.particle.ParticleEmitter;
+import me.kubbidev.blocktune.spell.particle.ParticleHints;
+import me.kubbidev.blocktune.spell.shape.SpellShape;
 import me.kubbidev.spellcaster.damage.DamageType;
 import me.kubbidev.spellcaster.element.Element;
 import me.kubbidev.spellcaster.spell.SpellMetadata;
@@ -12,13 +22,49 @@ import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Experimental
 public class SunflowerThrust extends SpellHandler<SimpleSpellResult> {
 
+    private static final Particle.DustOptions RED_DUST = new Particle.DustOptions(Color.RED, 2.f);
+
+    /**
+     * Which particles of the spell may be thinned out for far viewers.
+     */
+    private static final ParticleHints HINTS = ParticleHints.builder()
+        .stride(2)
+        .particle(Particle.INSTANT_EFFECT, ParticleDetail.LOW)
+        .build();
+
+    /**
+     * The arc drawn around the thrust point before the thrust, one frame per tick.
+     * <p>
+     * The arc is subtracted from the thrust point, so its points are stored negated.
+     */
+    private static final SpellShape SHAPE;
+
+    static {
+        SpellShape.Builder builder = SpellShape.builder();
+        double t = 0.0;
+        while ((t += Math.PI / 2) <= Math.PI * 4) {
+            if (t <= Math.PI * 2) {
+                continue;
+            }
+            builder.frame();
+            for (double i = 0.0; i < Math.PI / 2; i += Math.PI / 18.0) {
+                double x = Math.cos(i + t) * 3.0;
+                double y = Math.sin(i + t) * 3.0;
+                builder.point(0, -x, -y, 0);
+            }
+        }
+        SHAPE = builder.build();
+    }
+
     @Override
     public SimpleSpellResult getResult(SpellMetadata meta) {
         return new SimpleSpellResult();
@@ -28,76 +74,99 @@ public class SunflowerThrust extends SpellHandler<SimpleSpellResult> {
     public void whenCast(SimpleSpellResult result, SpellMetadata meta) {
         LivingEntity caster = meta.entity();
 
-        double damage = meta.parameter("damage");
-        double radius = meta.parameter("radius");
+        double damage = AbilityParameter.DAMAGE.get(meta);
+        double radius = AbilityParameter.RADIUS.get(meta);
 
-        double knockback = meta.parameter("knockback");
-        double repulsion = meta.parameter("repulsion");
+        double knockback = AbilityParameter.KNOCKBACK.get(meta);
+        double repulsion = AbilityParameter.REPULSION.get(meta);
 
-        Vector towardDirection = caster.getEyeLocation().getDirection().multiply(2.5);
+        ParticleEmitter emitter = BlockTuneProvider.get().getParticleBatcher().emitter(meta, HINTS);
+
+        Vec3d towardDirection = new Vec3d().direction(caster.getYaw(), caster.getPitch()).multiply(2.5);
         new SpellRunnable() {
+            final Mat3d rotation  = new Mat3d();
+            final Vec3d origin    = new Vec3d();
+            final Vec3d increment = new Vec3d();
+
             Location location = null;
             double   t        = 0.0;
+            int      frame    = 0;
 
             @Override
             public boolean shouldCancel() {
                 return !caster.isValid() || (t += Math.PI / 2) > Math.PI * 4;
             }
 
+            @Override
+            protected void compute(@NotNull PointBuffer points) {
+                if (t > Math.PI * 2 && t <= Math.PI * 4) {
+                    SHAPE.transform(this.frame, this.rotation, origin.getX(), origin.getY(), origin.getZ(), points);
+                }
+            }
+
             @Override
             protected void tick() {
                 Vector currentVelocity = caster.getVelocity();
-                Vector reducedVelocity = currentVelocity.clone().multiply(0.2);
-                caster.setVelocity(new Vector(reducedVelocity.getX(), currentVelocity.getY(), reducedVelocity.getZ()));
+                caster.setVelocity(currentVelocity.setX(currentVelocity.getX() * 0.2).setZ(currentVelocity.getZ() * 0.2));
 
                 if (t > Math.PI * 2 && t <= Math.PI * 4) {
                     if (t == ((5 * Math.PI) / 2)) {
                         caster.swingMainHand();
-                        location.getWorld().playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
-                        location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                        emitter.playSound(location, Sound.ENTITY_PLAYER_ATTACK_SWEEP, 0.5f, 1.f);
+                        emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
                     }
 
-                    for (double i = 0.0; i < Math.PI / 2; i += Math.PI / 18.0) {
-                        double x = Math.cos(i + t) * 3.0;
-                        double y = Math.sin(i + t) * 3.0;
+                    PointBuffer points = points();
+                    this.frame++;
+
+                    World world = location.getWorld();
+                    for (int p = 0; p < points.size(); p++) {
+                        double x = points.x(p);
+                        double y = points.y(p);
+                        double z = points.z(p);
 
-                        Vector rotated = new Vector(x, y, 0)
-                            .rotateAroundX(Math.toRadians(location.getPitch()))
-                            .rotateAroundY(Math.toRadians(-location.getYaw()));
+                        ParticleDetail detail = emitter.detail(SHAPE.layer(p), p);
 
-                        Location displayLoc = location.clone().add(towardDirection).subtract(rotated);
-                        Particle.DUST.builder().location(displayLoc).color(Color.RED, 2.f)
-                            .count(2).offset(0.2, 0.2, 0.2).spawn();
+                        emitter.spawn(detail, Particle.DUST, world, x, y, z, 2, 0.2, 0.2, 0.2, 1.0, RED_DUST, true);
 
-                        Particle.FLAME.builder().location(displayLoc)
-                            .count(10).offset(0.2, 0.2, 0.2).extra(0.1).spawn();
+                        emitter.spawn(detail, Particle.FLAME, world, x, y, z, 10, 0.2, 0.2, 0.2, 0.1);
 
-                        Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                            .count(4).offset(0.2, 0.2, 0.2).spawn();
+                        emitter.spawn(detail, Particle.INSTANT_EFFECT, world, x, y, z, 4, 0.2, 0.2, 0.2, 1.0);
                     }
                 }
 
                 if (t == ((7 * Math.PI) / 2)) {
-                    Location defaultLocation = location.clone().add(towardDirection);
                     // the vector use every time to increment and finally trace a line in space
-                    Vector increment = location.clone().getDirection().normalize();
-
-                    for (int i = 0; i < 7; i++) {
-                        defaultLocation.add(increment);
-                        UtilityMethod.attack(meta, defaultLocation,
-                            damage,
-                            radius,
-                            knockback,
-                            repulsion, false, Element.FIRE,
-                            DamageType.MAGIC,
-                            DamageType.SPELL
-                        );
-
-                        Particle.FLAME.builder().location(defaultLocation)
-                            .count(20).offset(0.2, 0.2, 0.2).extra(0.0).spawn();
-
-                        Particle.INSTANT_EFFECT.builder().location(defaultLocation)
-                            .count(5).offset(0.2, 0.2, 0.2).spawn();
+                    Vec3d increment = this.increment.direction(location.getYaw(), location.getPitch());
+
+                    // the thrust is hit tested as a single capsule spanning every step of the line
+                    World world = location.getWorld();
+                    SweptVolume volume = SweptVolume.local(world);
+                    volume.addSegment(
+                        origin.getX() + increment.getX(),
+                        origin.getY() + increment.getY(),
+                        origin.getZ() + increment.getZ(),
+                        origin.getX() + increment.getX() * 7,
+                        origin.getY() + increment.getY() * 7,
+                        origin.getZ() + increment.getZ() * 7
+                    );
+                    UtilityMethod.attack(meta, volume,
+                        damage,
+                        radius,
+                        knockback,
+                        repulsion, false, Element.FIRE,
+                        DamageType.MAGIC,
+                        DamageType.SPELL
+                    );
+
+                    for (int i = 1; i <= 7; i++) {
+                        double x = origin.getX() + increment.getX() * i;
+                        double y = origin.getY() + increment.getY() * i;
+                        double z = origin.getZ() + increment.getZ() * i;
+
+                        emitter.spawn(Particle.FLAME, world, x, y, z, 20, 0.2, 0.2, 0.2, 0.0);
+
+                        emitter.spawn(Particle.INSTANT_EFFECT, world, x, y, z, 5, 0.2, 0.2, 0.2, 1.0);
                     }
                 }
             }
@@ -105,14 +174,16 @@ public class SunflowerThrust extends SpellHandler<SimpleSpellResult> {
             @Override
             protected void onStart() {
                 location = EntityBody.BODY.getLocation(caster);
-                location.getWorld().playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+                this.rotation.setRotation(location.getPitch(), location.getYaw());
+                emitter.playSound(location, Sound.ENTITY_BLAZE_SHOOT, 0.5f, 1.f);
+
+                // the thrust point, around which the arc is drawn and from which the thrust starts
+                origin.set(location.getX(), location.getY(), location.getZ()).add(towardDirection);
 
-                Location displayLoc = location.clone().add(towardDirection);
-                Particle.FLAME.builder().location(displayLoc)
-                    .count(20).offset(0.2, 0.2, 0.2).extra(0.0).spawn();
+                World world = location.getWorld();
+                emitter.spawn(Particle.FLAME, world, origin.getX(), origin.getY(), origin.getZ(), 20, 0.2, 0.2, 0.2, 0.0);
 
-                Particle.INSTANT_EFFECT.builder().location(displayLoc)
-                    .count(5).offset(0.2, 0.2, 0.2).spawn();
+                emitter.spawn(Particle.INSTANT_EFFECT, world, origin.getX(), origin.getY(), origin.getZ(), 5, 0.2, 0.2, 0.2, 1.0);
             }
 
             @Override
@@ -0,0 +1,221 @@
+package me.kubbidev.blocktune.spell.hit;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.UtilityMethod;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.blocktune.math.Vec3d;
+import me.kubbidev.blocktune.spell.particle.ParticleBatcher;
+import me.kubbidev.blocktune.spell.particle.ParticleDetail;
+import me.kubbidev.spellcaster.damage.AttackMetadata;
+import me.kubbidev.spellcaster.damage.DamageMetadata;
+import me.kubbidev.spellcaster.damage.DamageType;
+import me.kubbidev.spellcaster.element.Element;
+import me.kubbidev.spellcaster.spell.SpellMetadata;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The damage stage of the spell pipeline.
+ * <p>
+ * Spells enqueue hit intents while they tick, and the queue applies them all at the end of the tick: intents of a same caster against a
+ * same victim are merged following the configured {@link MergePolicy}, every victim receives a single knockback vector and the blocking
+ * feedback is emitted at most once per victim. Victims are processed by ascending entity id, and casters by ascending entity id for a
+ * given victim, so the outcome does not depend on the order spells ticked in.
+ */
+@ApiStatus.Internal
+public class DamageQueue implements Listener {
+
+    /**
+     * How intents of a same caster against a same victim during one tick are merged.
+     */
+    public enum MergePolicy {
+
+        /**
+         * The damage of every intent is summed.
+         */
+        SUM,
+
+        /**
+         * Only the highest damage is kept.
+         */
+        MAX
+    }
+
+    private static final Comparator<HitIntent> ORDER = Comparator
+        .comparingInt((HitIntent intent) -> intent.target.getEntityId())
+        .thenComparingInt(intent -> intent.caster.getEntityId());
+
+    private final BlockTune plugin;
+
+    // (caster id, victim id) -> pending intent of the current tick
+    private final Long2ObjectMap<HitIntent> pending  = new Long2ObjectOpenHashMap<>();
+    // casters which already swung their hands during the current flush
+    private final IntSet                    swung    = new IntOpenHashSet();
+    // scratch vector receiving the knockback of each intent
+    private final Vec3d                     velocity = new Vec3d();
+
+    public DamageQueue(@NotNull BlockTune plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Enqueues an attack of the spell cast against the given target, to be applied at the end of the tick.
+     *
+     * @param meta        The metadata of the spell cast performing the attack.
+     * @param target      The victim of the attack.
+     * @param damage      The damage dealt to the victim.
+     * @param knockback   The knockback multiplier applied to the victim.
+     * @param isBlocking  Whether the victim is blocking the attack.
+     * @param shouldSwing Whether the caster should swing its hands if the victim got damaged.
+     * @param element     The element of the attack.
+     * @param types       The damage types of the attack.
+     */
+    public void enqueue(@NotNull SpellMetadata meta, @NotNull LivingEntity target, double damage, double knockback, boolean isBlocking,
+                        boolean shouldSwing, @Nullable Element element, DamageType... types) {
+        LivingEntity caster = meta.entity();
+        long key = (long) caster.getEntityId() << 32 | (target.getEntityId() & 0xFFFFFFFFL);
+
+        HitIntent intent = this.pending.get(key);
+        if (intent == null) {
+            this.pending.put(key, new HitIntent(meta, caster, target, damage, knockback, isBlocking, shouldSwing, element, types));
+            return;
+        }
+
+        MergePolicy policy = this.plugin.getConfiguration().get(ConfigKeys.DAMAGE_MERGE_POLICY);
+        if (policy == MergePolicy.SUM) {
+            intent.damage += damage;
+        } else if (damage > intent.damage) {
+            intent.damage = damage;
+            intent.element = element;
+            intent.types = types;
+        }
+        intent.knockback = Math.max(intent.knockback, knockback);
+        intent.isBlocking |= isBlocking;
+        intent.shouldSwing |= shouldSwing;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onServerTickEnd(ServerTickEndEvent e) {
+        flush();
+    }
+
+    /**
+     * Applies every pending intent.
+     */
+    public void flush() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        HitIntent[] intents = this.pending.values().toArray(new HitIntent[0]);
+        this.pending.clear();
+        this.swung.clear();
+        Arrays.sort(intents, ORDER);
+
+        int i = 0;
+        while (i < intents.length) {
+            LivingEntity target = intents[i].target;
+
+            double x = 0.0;
+            double y = 0.0;
+            double z = 0.0;
+            boolean isKnockback = false;
+            boolean isBlocking = false;
+
+            // intents are sorted by victim, so every intent against this target is contiguous
+            for (; i < intents.length && intents[i].target == target; i++) {
+                HitIntent intent = intents[i];
+                if (!target.isValid() || !intent.caster.isValid()) {
+                    continue;
+                }
+
+                boolean hasKnockback = intent.knockback != 0.0;
+                AttackMetadata attackMetadata = intent.meta.caster().attack(target, intent.damage, hasKnockback, intent.element,
+                    intent.types);
+                DamageMetadata damageMetadata = attackMetadata.getMetadata();
+
+                if (damageMetadata.getDamage() <= DamageMetadata.MINIMAL_DAMAGE) {
+                    continue;
+                }
+                if (intent.shouldSwing && this.swung.add(intent.caster.getEntityId())) {
+                    UtilityMethod.intelligentHandsSwing(intent.caster);
+                }
+                isBlocking |= intent.isBlocking;
+
+                if (hasKnockback) {
+                    Vec3d velocity = UtilityMethod.getRepulsionVelocity(intent.caster, target, this.velocity);
+                    x += velocity.getX() * intent.knockback;
+                    y += velocity.getY() * intent.knockback + 0.1;
+                    z += velocity.getZ() * intent.knockback;
+                    isKnockback = true;
+                }
+            }
+
+            if (isBlocking) {
+                UtilityMethod.intelligentHandsSwing(target);
+                // the blocking feedback is hit feedback, it is never dropped by the particle level of detail or budgets
+                ParticleBatcher particles = this.plugin.getParticleBatcher();
+                particles.playSound(ParticleDetail.ESSENTIAL, null, target, "minecraft:custom.generic.sword_guard", 0.2f, 1.0f);
+
+                Location displayLoc = target.getEyeLocation();
+                particles.spawn(ParticleDetail.ESSENTIAL, null, Particle.FLASH, displayLoc, 0, 0.0, 0.0, 0.0, 1.0, null, false);
+                particles.spawn(ParticleDetail.ESSENTIAL, null, Particle.ELECTRIC_SPARK, displayLoc, 64,
+                    0.5,
+                    0.5,
+                    0.5, 0.5, null, false);
+            }
+            if (isKnockback) {
+                target.setVelocity(new Vector(x, Math.min(y, 2.0), z));
+            }
+        }
+    }
+
+    /**
+     * Drops every pending intent without applying them.
+     */
+    public void clear() {
+        this.pending.clear();
+    }
+
+    private static final class HitIntent {
+
+        private final SpellMetadata meta;
+        private final LivingEntity  caster;
+        private final LivingEntity  target;
+
+        private double       damage;
+        private double       knockback;
+        private boolean      isBlocking;
+        private boolean      shouldSwing;
+        private Element      element;
+        private DamageType[] types;
+
+        private HitIntent(SpellMetadata meta, LivingEntity caster, LivingEntity target, double damage, double knockback,
+                          boolean isBlocking, boolean shouldSwing, @Nullable Element element, DamageType[] types) {
+            this.meta = meta;
+            this.caster = caster;
+            this.target = target;
+            this.damage = damage;
+            this.knockback = knockback;
+            this.isBlocking = isBlocking;
+            this.shouldSwing = shouldSwing;
+            this.element = element;
+            this.types = types;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package me.kubbidev.blocktune.spell.hit;
+
+import me.kubbidev.blocktune.util.SpatialHash;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Projectile;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A per-tick snapshot of every {@link LivingEntity} and {@link Projectile} of a world, bucketed by cell.
+ * <p>
+ * The index is rebuilt lazily, the first time it is queried during a tick, so that every spell hit test of that tick shares the same
+ * snapshot instead of scanning chunk entity lists once per sample point.
+ */
+@ApiStatus.Internal
+public final class EntitySpatialIndex {
+
+    // 4 blocks wide cells, a bit larger than the usual spell hit radius
+    private static final int CELL_SHIFT = 2;
+
+    private final World       world;
+    private final SpatialHash hash = new SpatialHash(CELL_SHIFT);
+
+    private Entity[] entities = new Entity[64];
+    private int      builtTick = -1;
+
+    EntitySpatialIndex(@NotNull World world) {
+        this.world = world;
+    }
+
+    public @NotNull World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Rebuilds the index if it has not been built yet during the current tick.
+     */
+    public void ensureBuilt() {
+        int tick = Bukkit.getCurrentTick();
+        if (this.builtTick != tick) {
+            this.builtTick = tick;
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        int previousSize = this.hash.size();
+        this.hash.clear();
+
+        for (Entity entity : this.world.getEntities()) {
+            if (!(entity instanceof LivingEntity) && !(entity instanceof Projectile)) {
+                continue;
+            }
+            int index = this.hash.add(entity.getX(), entity.getY(), entity.getZ());
+            if (index == this.entities.length) {
+                this.entities = Arrays.copyOf(this.entities, index << 1);
+            }
+            this.entities[index] = entity;
+        }
+        this.hash.build();
+
+        // release references to entities which are not part of this snapshot anymore
+        int size = this.hash.size();
+        if (previousSize > size) {
+            Arrays.fill(this.entities, size, previousSize, null);
+        }
+    }
+
+    /**
+     * Gets every entity of the snapshot whose position lies inside the given sphere.
+     * <p>
+     * Entities which became invalid since the snapshot was taken are skipped.
+     *
+     * @param x      the x coordinate of the sphere center
+     * @param y      the y coordinate of the sphere center
+     * @param z      the z coordinate of the sphere center
+     * @param radius the sphere radius
+     * @return a list of the entities inside the sphere
+     */
+    public @NotNull List<Entity> getNearbyEntities(double x, double y, double z, double radius) {
+        ensureBuilt();
+
+        List<Entity> nearby = new ArrayList<>();
+        this.hash.query(x, y, z, radius, index -> {
+            Entity entity = this.entities[index];
+            if (entity.isValid()) {
+                nearby.add(entity);
+            }
+        });
+        return nearby;
+    }
+}
@@ -0,0 +1,215 @@
+package me.kubbidev.blocktune.spell.hit;
+
+import me.kubbidev.spellcaster.spell.SpellMetadata;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the victims already processed by a spell cast, so they are not tested again during the same tick (or the same cast,
+ * depending on the {@link Scope}).
+ * <p>
+ * The ledger is an open-addressing set of entity ids where every entry is stamped with the generation it was inserted in. Advancing the
+ * generation logically empties the set without touching the backing arrays, entries stamped with an older generation being treated as free
+ * slots.
+ */
+@ApiStatus.Internal
+public final class HitLedger {
+
+    /**
+     * How long a victim stays in the ledger once processed.
+     */
+    public enum Scope {
+
+        /**
+         * Victims are processed at most once per tick, whether or not they got damaged.
+         */
+        TICK,
+
+        /**
+         * Victims are damaged at most once for the whole cast.
+         */
+        CAST
+    }
+
+    // cast -> ledger, spell metadata are compared by identity as a same caster may cast the same spell twice
+    private static final Map<SpellMetadata, HitLedger> LEDGERS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final LongAdder TOTAL_HITS               = new LongAdder();
+    private static final LongAdder TOTAL_DUPLICATES_SKIPPED = new LongAdder();
+
+    /**
+     * Attaches a new ledger to the given spell cast.
+     *
+     * @param meta  the spell cast
+     * @param scope the scope of the ledger
+     * @return the attached ledger
+     */
+    public static @NotNull HitLedger open(@NotNull SpellMetadata meta, @NotNull Scope scope) {
+        HitLedger ledger = new HitLedger(scope);
+        LEDGERS.put(meta, ledger);
+        return ledger;
+    }
+
+    /**
+     * Detaches the ledger of the given spell cast, if any.
+     *
+     * @param meta the spell cast
+     */
+    public static void close(@NotNull SpellMetadata meta) {
+        LEDGERS.remove(meta);
+    }
+
+    /**
+     * Gets the ledger attached to the given spell cast.
+     *
+     * @param meta the spell cast
+     * @return the ledger, or null if the cast is not tracked
+     */
+    public static @Nullable HitLedger get(@NotNull SpellMetadata meta) {
+        return LEDGERS.get(meta);
+    }
+
+    /**
+     * Gets the amount of victims damaged by every ledger since the plugin was enabled.
+     */
+    public static long getTotalHits() {
+        return TOTAL_HITS.sum();
+    }
+
+    /**
+     * Gets the amount of victims skipped by every ledger since the plugin was enabled.
+     */
+    public static long getTotalDuplicatesSkipped() {
+        return TOTAL_DUPLICATES_SKIPPED.sum();
+    }
+
+    private final Scope scope;
+
+    private int[] keys   = new int[16];
+    private int[] stamps = new int[16];
+
+    // amount of entries stamped with the live generation
+    private int live;
+    private int liveGeneration;
+
+    private long hits;
+    private long duplicatesSkipped;
+
+    private HitLedger(@NotNull Scope scope) {
+        this.scope = scope;
+    }
+
+    public @NotNull Scope getScope() {
+        return this.scope;
+    }
+
+    /**
+     * Gets the amount of victims damaged through this ledger.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the amount of victims skipped because they were already processed.
+     */
+    public long getDuplicatesSkipped() {
+        return this.duplicatesSkipped;
+    }
+
+    /**
+     * Gets whether the given victim was already processed, in which case it should be skipped.
+     *
+     * @param entityId the id of the victim
+     * @return true if the victim was already processed
+     */
+    public boolean shouldSkip(int entityId) {
+        int generation = generation();
+        if (this.stamps[slot(entityId, generation)] != generation) {
+            return false;
+        }
+        this.duplicatesSkipped++;
+        TOTAL_DUPLICATES_SKIPPED.increment();
+        return true;
+    }
+
+    /**
+     * Records that the given victim has been processed.
+     *
+     * @param entityId the id of the victim
+     * @param hit      whether the victim got damaged
+     */
+    public void record(int entityId, boolean hit) {
+        if (hit) {
+            this.hits++;
+            TOTAL_HITS.increment();
+        } else if (this.scope == Scope.CAST) {
+            // victims which were not damaged can still be hit later during the cast
+            return;
+        }
+
+        int generation = generation();
+        if (this.liveGeneration != generation) {
+            this.liveGeneration = generation;
+            this.live = 0;
+        }
+        int slot = slot(entityId, generation);
+        if (this.stamps[slot] == generation) {
+            return;
+        }
+        this.keys[slot] = entityId;
+        this.stamps[slot] = generation;
+
+        if (++this.live * 2 > this.keys.length) {
+            grow(generation);
+        }
+    }
+
+    private int generation() {
+        // stamps are initialized to zero, so the generation must never be zero
+        return this.scope == Scope.TICK ? Bukkit.getCurrentTick() + 1 : 1;
+    }
+
+    /**
+     * Gets the slot holding the given entity id, or the first free slot of its probe sequence.
+     */
+    private int slot(int entityId, int generation) {
+        int mask = this.keys.length - 1;
+        int slot = mix(entityId) & mask;
+        while (this.stamps[slot] == generation) {
+            if (this.keys[slot] == entityId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow(int generation) {
+        int[] oldKeys = this.keys;
+        int[] oldStamps = this.stamps;
+        this.keys = new int[oldKeys.length << 1];
+        this.stamps = new int[oldStamps.length << 1];
+
+        // only carry over the entries of the live generation
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == generation) {
+                int slot = slot(oldKeys[i], generation);
+                this.keys[slot] = oldKeys[i];
+                this.stamps[slot] = generation;
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
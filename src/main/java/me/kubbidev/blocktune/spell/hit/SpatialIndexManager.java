@@ -0,0 +1,32 @@
+package me.kubbidev.blocktune.spell.hit;
+
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link EntitySpatialIndex} of every loaded world.
+ */
+@ApiStatus.Internal
+public class SpatialIndexManager implements Listener {
+
+    // world uuid -> entity index, created on first use
+    private final Map<UUID, EntitySpatialIndex> indexes = new ConcurrentHashMap<>();
+
+    public @NotNull EntitySpatialIndex getIndex(@NotNull World world) {
+        return this.indexes.computeIfAbsent(world.getUID(), uuid -> new EntitySpatialIndex(world));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent e) {
+        this.indexes.remove(e.getWorld().getUID());
+    }
+}
@@ -0,0 +1,197 @@
+package me.kubbidev.blocktune.spell.hit;
+
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.PointKernels;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The volume swept by a spell during a single tick, described as a set of sample points and capsule segments.
+ * <p>
+ * Instead of testing every sample point of an arc against the world separately, handlers accumulate the whole tick worth of points into
+ * a volume and resolve the distinct victims in one broad-phase pass through {@link me.kubbidev.blocktune.UtilityMethod}.
+ * <p>
+ * A volume can be {@link #clear() cleared} and refilled every tick to avoid reallocating its backing arrays, and each thread owns a
+ * scratch volume reachable through {@link #local(World)} for that purpose.
+ */
+public final class SweptVolume {
+
+    private static final ThreadLocal<SweptVolume> LOCAL = ThreadLocal.withInitial(SweptVolume::new);
+
+    /**
+     * Gets the emptied scratch volume of the current thread, bound to the given world.
+     * <p>
+     * The volume is shared by every caller of the thread, it must not be kept past the current task.
+     */
+    public static @NotNull SweptVolume local(@NotNull World world) {
+        SweptVolume volume = LOCAL.get();
+        volume.world = world;
+        volume.clear();
+        return volume;
+    }
+
+    private World world;
+
+    // sample points, one array per coordinate
+    private double[] xs = new double[32];
+    private double[] ys = new double[32];
+    private double[] zs = new double[32];
+    private int      pointCount;
+
+    // capsule segments, 6 coordinates per segment (start then end)
+    private double[] segments = new double[12];
+    private int      segmentCount;
+
+    public SweptVolume(@NotNull World world) {
+        this.world = world;
+    }
+
+    private SweptVolume() {
+    }
+
+    public @NotNull World getWorld() {
+        return this.world;
+    }
+
+    public boolean isEmpty() {
+        return this.pointCount == 0 && this.segmentCount == 0;
+    }
+
+    /**
+     * Removes every sample point and segment from this volume, keeping the backing arrays.
+     */
+    public void clear() {
+        this.pointCount = 0;
+        this.segmentCount = 0;
+    }
+
+    public @NotNull SweptVolume add(@NotNull Location location) {
+        return add(location.getX(), location.getY(), location.getZ());
+    }
+
+    public @NotNull SweptVolume add(double x, double y, double z) {
+        ensurePointCapacity(this.pointCount + 1);
+        this.xs[this.pointCount] = x;
+        this.ys[this.pointCount] = y;
+        this.zs[this.pointCount] = z;
+        this.pointCount++;
+        return this;
+    }
+
+    public @NotNull SweptVolume add(@NotNull PointBuffer buffer) {
+        ensurePointCapacity(this.pointCount + buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            this.xs[this.pointCount + i] = buffer.x(i);
+            this.ys[this.pointCount + i] = buffer.y(i);
+            this.zs[this.pointCount + i] = buffer.z(i);
+        }
+        this.pointCount += buffer.size();
+        return this;
+    }
+
+    private void ensurePointCapacity(int capacity) {
+        if (capacity > this.xs.length) {
+            int length = Math.max(capacity, this.xs.length << 1);
+            this.xs = Arrays.copyOf(this.xs, length);
+            this.ys = Arrays.copyOf(this.ys, length);
+            this.zs = Arrays.copyOf(this.zs, length);
+        }
+    }
+
+    /**
+     * Adds a capsule segment going from the first to the second point, which will be hit tested analytically.
+     */
+    public @NotNull SweptVolume addSegment(double x1, double y1, double z1, double x2, double y2, double z2) {
+        int offset = this.segmentCount * 6;
+        if (offset == this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, offset << 1);
+        }
+        this.segments[offset] = x1;
+        this.segments[offset + 1] = y1;
+        this.segments[offset + 2] = z1;
+        this.segments[offset + 3] = x2;
+        this.segments[offset + 4] = y2;
+        this.segments[offset + 5] = z2;
+        this.segmentCount++;
+        return this;
+    }
+
+    /**
+     * Computes a sphere enclosing every sample point and segment of this volume.
+     *
+     * @param out an array of at least 4 elements receiving the center coordinates followed by the radius
+     * @throws IllegalStateException if the volume is empty
+     */
+    public void boundingSphere(double @NotNull [] out) {
+        if (isEmpty()) {
+            throw new IllegalStateException("Volume is empty");
+        }
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < this.pointCount; i++) {
+            minX = Math.min(minX, this.xs[i]);
+            minY = Math.min(minY, this.ys[i]);
+            minZ = Math.min(minZ, this.zs[i]);
+            maxX = Math.max(maxX, this.xs[i]);
+            maxY = Math.max(maxY, this.ys[i]);
+            maxZ = Math.max(maxZ, this.zs[i]);
+        }
+        // a segment is enclosed by the bounding box of both of its ends
+        for (int i = 0, length = this.segmentCount * 6; i < length; i += 3) {
+            minX = Math.min(minX, this.segments[i]);
+            minY = Math.min(minY, this.segments[i + 1]);
+            minZ = Math.min(minZ, this.segments[i + 2]);
+            maxX = Math.max(maxX, this.segments[i]);
+            maxY = Math.max(maxY, this.segments[i + 1]);
+            maxZ = Math.max(maxZ, this.segments[i + 2]);
+        }
+
+        double dx = (maxX - minX) / 2.0;
+        double dy = (maxY - minY) / 2.0;
+        double dz = (maxZ - minZ) / 2.0;
+        out[0] = minX + dx;
+        out[1] = minY + dy;
+        out[2] = minZ + dz;
+        out[3] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Gets whether the given position lies within the given distance of any sample point or segment of this volume.
+     */
+    public boolean intersects(double x, double y, double z, double radius) {
+        double radiusSquared = radius * radius;
+        // the sample points are tested several at a time when the vector kernel is available
+        if (PointKernels.get().anyWithin(this.xs, this.ys, this.zs, this.pointCount, x, y, z, radiusSquared)) {
+            return true;
+        }
+        for (int i = 0, length = this.segmentCount * 6; i < length; i += 6) {
+            if (segmentDistanceSquared(i, x, y, z) <= radiusSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double segmentDistanceSquared(int offset, double x, double y, double z) {
+        double ax = this.segments[offset];
+        double ay = this.segments[offset + 1];
+        double az = this.segments[offset + 2];
+        double abx = this.segments[offset + 3] - ax;
+        double aby = this.segments[offset + 4] - ay;
+        double abz = this.segments[offset + 5] - az;
+
+        // project the position on the segment and clamp the projection to its ends
+        double lengthSquared = abx * abx + aby * aby + abz * abz;
+        double t = lengthSquared == 0.0 ? 0.0 : ((x - ax) * abx + (y - ay) * aby + (z - az) * abz) / lengthSquared;
+        t = Math.max(0.0, Math.min(1.0, t));
+
+        double dx = ax + abx * t - x;
+        double dy = ay + aby * t - y;
+        double dz = az + abz * t - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
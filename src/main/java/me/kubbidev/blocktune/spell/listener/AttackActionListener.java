@@ -2,8 +2,9 @@ package me.kubbidev.blocktune.spell.listener;
 
 import me.kubbidev.blocktune.BlockTune;
 import me.kubbidev.blocktune.spell.Ability;
+import me.kubbidev.blocktune.spell.CastInputQueue;
+import me.kubbidev.blocktune.spell.SpellBossBarRenderer;
 import me.kubbidev.blocktune.spell.SpellPlayer;
-import me.kubbidev.spellcaster.spell.Spell;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
@@ -19,7 +20,6 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.jetbrains.annotations.ApiStatus;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,13 +29,20 @@ public class AttackActionListener implements Listener {
 
     private final BlockTune              plugin;
     private final Map<UUID, SpellPlayer> connectedPlayers = new ConcurrentHashMap<>();
+    private final CastInputQueue         inputQueue;
 
     public AttackActionListener(BlockTune plugin) {
         this.plugin = plugin;
+        this.inputQueue = new CastInputQueue(plugin);
     }
 
     public void onEnable() {
         Bukkit.getOnlinePlayers().forEach(this::playerJoin);
+        // draw the boss bars of every player from a single task
+        SpellBossBarRenderer renderer = new SpellBossBarRenderer(this.plugin.getCooldownStore(), this.connectedPlayers.values());
+        this.plugin.getSpellScheduler().runRepeating(renderer, 1L, 1L).bindWith(this.plugin);
+        // handle the inputs queued by the listeners once per tick
+        this.plugin.getSpellScheduler().runRepeating(this.inputQueue, 1L, 1L).bindWith(this.plugin);
     }
 
     public void onDisable() {
@@ -44,8 +51,12 @@ public class AttackActionListener implements Listener {
 
     private void playerJoin(Player p) {
         if (!this.connectedPlayers.containsKey(p.getUniqueId())) {
-            SpellPlayer spellPlayer = new SpellPlayer(this.plugin);
+            SpellPlayer spellPlayer = new SpellPlayer();
             spellPlayer.onJoin(p);
+            // pick up the cooldowns spellcaster kept while the player was away
+            for (Ability ability : spellPlayer.getUnlockedAbilities()) {
+                this.plugin.getCooldownStore().sync(p, ability);
+            }
 
             this.connectedPlayers.put(p.getUniqueId(), spellPlayer);
         }
@@ -82,13 +93,9 @@ public class AttackActionListener implements Listener {
             return;
         }
 
-        if (this.connectedPlayers.containsKey(player.getUniqueId())) {
-            SpellPlayer spellPlayer = this.connectedPlayers.get(player.getUniqueId());
-            spellPlayer.getActualAbility().ifPresent(ability -> {
-
-                Spell cast = ability.toSpell();
-                cast.cast(player);
-            });
+        SpellPlayer spellPlayer = this.connectedPlayers.get(player.getUniqueId());
+        if (spellPlayer != null) {
+            this.inputQueue.append(spellPlayer, CastInputQueue.Input.CAST);
         }
     }
 
@@ -102,19 +109,11 @@ public class AttackActionListener implements Listener {
             return;
         }
 
-        if (connectedPlayers.containsKey(player.getUniqueId())) {
-            SpellPlayer spellPlayer = connectedPlayers.get(player.getUniqueId());
-
-            // safe avoid dividing by zero if empty
-            List<Ability> unlockedSpells = spellPlayer.getUnlockedAbilities();
-            if (unlockedSpells.isEmpty()) {
-                return;
-            }
-            // if it's true, subtracts one from the index and adds the size of the task list to handle negative indices before applying modulo,
-            // otherwise, simply increments the index and applies modulo to wrap around the list size if needed.
-            spellPlayer.setIndex(player.isSneaking()
-                ? (spellPlayer.getIndex() - 1 + unlockedSpells.size()) % unlockedSpells.size()
-                : (spellPlayer.getIndex() + 1) % unlockedSpells.size());
+        SpellPlayer spellPlayer = this.connectedPlayers.get(player.getUniqueId());
+        if (spellPlayer != null) {
+            this.inputQueue.append(spellPlayer, player.isSneaking()
+                ? CastInputQueue.Input.PREVIOUS_ABILITY
+                : CastInputQueue.Input.NEXT_ABILITY);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many emissions of a kind (particles or sounds) a single caster, chunk or viewer gets during one tick.
+ * <p>
+ * The {@link ParticleDetail} of an emission is its priority: essential emissions such as hit feedback are always admitted, while the
+ * other ones may only use a share of each budget, the least important the smallest, so that ambient trails are the first to go once a
+ * budget runs low.
+ */
+@ApiStatus.Internal
+public final class EmissionBudget {
+
+    // detail -> share of a budget the emissions of that detail may use
+    private static final double[] SHARES = {1.0, 1.0, 0.75, 0.5};
+
+    /**
+     * Gets whether an emission of the given priority fits in a budget.
+     *
+     * @param priority the priority of the emission
+     * @param used     the amount of emissions already admitted
+     * @param limit    the budget
+     */
+    public static boolean admits(@NotNull ParticleDetail priority, int used, int limit) {
+        return priority == ParticleDetail.ESSENTIAL || used < limit * SHARES[priority.ordinal()];
+    }
+
+    /**
+     * The budgets of a kind of emission, per tick.
+     */
+    public static final class Limits {
+
+        private final int caster;
+        private final int chunk;
+        private final int viewer;
+
+        /**
+         * Creates new budgets.
+         *
+         * @param caster the amount of emissions a single caster may queue
+         * @param chunk  the amount of emissions queued in a single chunk
+         * @param viewer the amount of emissions a single player may receive
+         */
+        public Limits(int caster, int chunk, int viewer) {
+            this.caster = caster;
+            this.chunk = chunk;
+            this.viewer = viewer;
+        }
+
+        public int getCaster() {
+            return this.caster;
+        }
+
+        public int getChunk() {
+            return this.chunk;
+        }
+
+        public int getViewer() {
+            return this.viewer;
+        }
+    }
+
+    // caster id -> emissions admitted during the current tick
+    private final Int2IntMap              byCaster = new Int2IntOpenHashMap();
+    // world -> chunk key -> emissions admitted during the current tick
+    private final Map<World, Long2IntMap> byChunk  = new IdentityHashMap<>();
+    // viewer id -> emissions received during the current tick
+    private final Int2IntMap              byViewer = new Int2IntOpenHashMap();
+    // emissions dropped since the plugin was enabled
+    private final LongAdder               dropped  = new LongAdder();
+
+    /**
+     * Charges an emission to the budgets of its caster and chunk.
+     *
+     * @param limits   the budgets
+     * @param priority the priority of the emission
+     * @param caster   the caster of the emission, or null if it does not belong to any caster
+     * @param world    the world of the emission
+     * @param x        the x coordinate of the emission
+     * @param z        the z coordinate of the emission
+     * @return true if the emission is admitted, false if it should be dropped
+     */
+    public boolean tryAcquire(@NotNull Limits limits, @NotNull ParticleDetail priority, @Nullable Entity caster, @NotNull World world,
+                              double x, double z) {
+        int casterUsed = caster == null ? 0 : this.byCaster.get(caster.getEntityId());
+        if (!admits(priority, casterUsed, limits.caster)) {
+            this.dropped.increment();
+            return false;
+        }
+        Long2IntMap chunks = this.byChunk.computeIfAbsent(world, w -> new Long2IntOpenHashMap());
+        long chunkKey = chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+        if (!admits(priority, chunks.get(chunkKey), limits.chunk)) {
+            this.dropped.increment();
+            return false;
+        }
+        if (caster != null) {
+            this.byCaster.put(caster.getEntityId(), casterUsed + 1);
+        }
+        chunks.mergeInt(chunkKey, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Charges an emission to the budget of a viewer.
+     *
+     * @param limits   the budgets
+     * @param priority the priority of the emission
+     * @param viewer   the player receiving the emission
+     * @return true if the emission is admitted, false if it should not be sent to the viewer
+     */
+    public boolean tryAcquireViewer(@NotNull Limits limits, @NotNull ParticleDetail priority, @NotNull Entity viewer) {
+        int viewerUsed = this.byViewer.get(viewer.getEntityId());
+        if (!admits(priority, viewerUsed, limits.viewer)) {
+            this.dropped.increment();
+            return false;
+        }
+        this.byViewer.put(viewer.getEntityId(), viewerUsed + 1);
+        return true;
+    }
+
+    /**
+     * Counts emissions dropped by a budget tracked outside of this instance.
+     */
+    public void drop(int count) {
+        this.dropped.add(count);
+    }
+
+    /**
+     * Gets the amount of emissions dropped since the plugin was enabled.
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Gives every caster, chunk and viewer its full budget back, done at the end of each tick.
+     */
+    public void reset() {
+        this.byCaster.clear();
+        this.byChunk.clear();
+        this.byViewer.clear();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX & 0xFFFFFFFFL | ((long) chunkZ & 0xFFFFFFFFL) << 32;
+    }
+}
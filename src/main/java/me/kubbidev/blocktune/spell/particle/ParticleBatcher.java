@@ -0,0 +1,390 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import me.kubbidev.blocktune.BlockTune;
+import me.kubbidev.blocktune.config.ConfigKeys;
+import me.kubbidev.spellcaster.spell.SpellMetadata;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.craftbukkit.CraftParticle;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The particle stage of the spell pipeline.
+ * <p>
+ * Spells write their particles into the batcher while they tick instead of spawning them one by one, and the batcher sends them all at
+ * the end of the tick: identical emissions (same particle, options and rounded location) are merged by summing their counts, and every
+ * viewer receives its share of the tick in a single bundle packet instead of one packet per particle.
+ * <p>
+ * Emissions follow the defaults of {@link com.destroystokyo.paper.ParticleBuilder}, and reach the same viewers a spawned particle would,
+ * thinned out by the configured {@link ParticleLod} following the {@link ParticleDetail} of each emission.
+ * <p>
+ * Particles and sounds are both capped by an {@link EmissionBudget} per caster, chunk and viewer, the detail of an emission being its
+ * priority against the budgets. Sounds are not batched, they are played right away to the viewers they are admitted for.
+ */
+@ApiStatus.Internal
+public class ParticleBatcher implements Listener {
+
+    // how many emissions fit in a block along each axis once their location is rounded
+    private static final double PRECISION = 16.0;
+
+    // the distances under which a player sees a particle, the same as the server
+    private static final double VIEW_DISTANCE_SQUARED        = 32.0 * 32.0;
+    private static final double FORCED_VIEW_DISTANCE_SQUARED = 512.0 * 512.0;
+
+    // the maximum amount of packets the client accepts in a bundle
+    private static final int BUNDLE_SIZE_LIMIT = 4096;
+
+    // the most important emissions first, so they get the budget of a viewer before the other ones
+    private static final Comparator<Emission> BY_PRIORITY = Comparator.comparing(emission -> emission.detail);
+
+    private final BlockTune plugin;
+
+    // emission -> itself, used to find the emission an identical one should be merged into
+    private final Map<Emission, Emission>    emissions = new HashMap<>();
+    // world -> emissions of the current tick
+    private final Map<World, List<Emission>> byWorld   = new IdentityHashMap<>();
+    // emissions of the previous ticks, reused to avoid allocating new ones every tick
+    private final List<Emission>             pool      = new ArrayList<>();
+    // scratch emission used to look up the map
+    private final Emission                   probe     = new Emission();
+
+    private final EmissionBudget particleBudget = new EmissionBudget();
+    private final EmissionBudget soundBudget    = new EmissionBudget();
+
+    public ParticleBatcher(@NotNull BlockTune plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Creates an emitter tagging the emissions of a spell cast following the given hints.
+     *
+     * @param meta  the spell cast, whose caster is charged for the emissions
+     * @param hints the level of detail hints of the ability
+     * @return the emitter
+     */
+    public @NotNull ParticleEmitter emitter(@NotNull SpellMetadata meta, @NotNull ParticleHints hints) {
+        return new ParticleEmitter(this, meta.entity(), hints);
+    }
+
+    public @NotNull EmissionBudget getParticleBudget() {
+        return this.particleBudget;
+    }
+
+    public @NotNull EmissionBudget getSoundBudget() {
+        return this.soundBudget;
+    }
+
+    public void spawn(@NotNull ParticleDetail detail, @Nullable Entity caster, @NotNull Particle particle, @NotNull Location location,
+                      int count, double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data, boolean force) {
+        spawn(detail, caster, particle, location.getWorld(), location.getX(), location.getY(), location.getZ(), count,
+            offsetX, offsetY, offsetZ, extra, data, force);
+    }
+
+    /**
+     * Queues a particle to be sent at the end of the tick.
+     * <p>
+     * Merged emissions keep the most important of their details.
+     *
+     * @param detail   the detail of the emission
+     * @param caster   the entity charged for the emission, or null if it does not belong to any caster
+     * @param particle the particle type
+     * @param world    the world to spawn the particle in
+     * @param x        the x coordinate of the particle
+     * @param y        the y coordinate of the particle
+     * @param z        the z coordinate of the particle
+     * @param count    the amount of particles
+     * @param offsetX  the spread of the particles along the x axis
+     * @param offsetY  the spread of the particles along the y axis
+     * @param offsetZ  the spread of the particles along the z axis
+     * @param extra    the extra data of the particle, usually its speed
+     * @param data     the data of the particle, compared by {@link Object#equals(Object)} when merging emissions
+     * @param force    whether the particle is shown to players up to 512 blocks away instead of 32
+     */
+    public void spawn(@NotNull ParticleDetail detail, @Nullable Entity caster, @NotNull Particle particle, @NotNull World world,
+                      double x, double y, double z, int count, double offsetX, double offsetY, double offsetZ, double extra,
+                      @Nullable Object data, boolean force) {
+        Emission probe = this.probe.set(world, particle, x, y, z, offsetX, offsetY, offsetZ, extra, data, force);
+
+        Emission emission = this.emissions.get(probe);
+        if (emission != null) {
+            emission.count += count;
+            emission.detail = ParticleDetail.max(emission.detail, detail);
+            return;
+        }
+        // merged emissions are free, only the ones adding a packet are charged
+        EmissionBudget.Limits limits = this.plugin.getConfiguration().get(ConfigKeys.PARTICLE_BUDGET);
+        if (!this.particleBudget.tryAcquire(limits, detail, caster, world, x, z)) {
+            return;
+        }
+        emission = this.pool.isEmpty() ? new Emission() : this.pool.remove(this.pool.size() - 1);
+        emission.copy(probe);
+        emission.count = count;
+        emission.detail = detail;
+
+        this.emissions.put(emission, emission);
+        this.byWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(emission);
+    }
+
+    public void playSound(@NotNull ParticleDetail priority, @Nullable Entity caster, @NotNull Location location, @NotNull Sound sound,
+                          float volume, float pitch) {
+        playSound(priority, caster, location.getWorld(), location.getX(), location.getY(), location.getZ(), volume,
+            player -> player.playSound(location, sound, volume, pitch));
+    }
+
+    public void playSound(@NotNull ParticleDetail priority, @Nullable Entity caster, @NotNull Location location, @NotNull String sound,
+                          float volume, float pitch) {
+        playSound(priority, caster, location.getWorld(), location.getX(), location.getY(), location.getZ(), volume,
+            player -> player.playSound(location, sound, volume, pitch));
+    }
+
+    public void playSound(@NotNull ParticleDetail priority, @Nullable Entity caster, @NotNull Entity source, @NotNull Sound sound,
+                          float volume, float pitch) {
+        playSound(priority, caster, source.getWorld(), source.getX(), source.getY(), source.getZ(), volume,
+            player -> player.playSound(source, sound, volume, pitch));
+    }
+
+    public void playSound(@NotNull ParticleDetail priority, @Nullable Entity caster, @NotNull Entity source, @NotNull String sound,
+                          float volume, float pitch) {
+        playSound(priority, caster, source.getWorld(), source.getX(), source.getY(), source.getZ(), volume,
+            player -> player.playSound(source, sound, volume, pitch));
+    }
+
+    /**
+     * Plays a sound to the players which would hear it, within the budgets.
+     */
+    private void playSound(ParticleDetail priority, @Nullable Entity caster, World world, double x, double y, double z, float volume,
+                           Consumer<Player> sound) {
+        EmissionBudget.Limits limits = this.plugin.getConfiguration().get(ConfigKeys.SOUND_BUDGET);
+        if (!this.soundBudget.tryAcquire(limits, priority, caster, world, x, z)) {
+            return;
+        }
+        // the same distance under which the server sends a sound
+        double distance = volume > 1.0f ? 16.0 * volume : 16.0;
+        double distanceSquared = distance * distance;
+        for (Player player : world.getPlayers()) {
+            double dx = x - player.getX();
+            double dy = y - player.getY();
+            double dz = z - player.getZ();
+            if (dx * dx + dy * dy + dz * dz <= distanceSquared && this.soundBudget.tryAcquireViewer(limits, priority, player)) {
+                sound.accept(player);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerTickEnd(ServerTickEndEvent e) {
+        flush();
+    }
+
+    /**
+     * Sends every queued particle to its viewers.
+     */
+    public void flush() {
+        if (this.emissions.isEmpty()) {
+            clear();
+            return;
+        }
+        ParticleLod lod = this.plugin.getConfiguration().get(ConfigKeys.PARTICLE_LOD);
+        double load = lod.load(Bukkit.getAverageTickTime());
+
+        int viewerBudget = this.plugin.getConfiguration().get(ConfigKeys.PARTICLE_BUDGET).getViewer();
+
+        List<Packet<? super ClientGamePacketListener>> packets = new ArrayList<>();
+        for (Map.Entry<World, List<Emission>> entry : this.byWorld.entrySet()) {
+            List<Emission> emissions = entry.getValue();
+            if (emissions.isEmpty()) {
+                continue;
+            }
+            emissions.sort(BY_PRIORITY);
+            for (Player player : entry.getKey().getPlayers()) {
+                double px = player.getX();
+                double py = player.getY();
+                double pz = player.getZ();
+
+                int dropped = 0;
+
+                for (Emission emission : emissions) {
+                    double dx = emission.x - px;
+                    double dy = emission.y - py;
+                    double dz = emission.z - pz;
+                    double distanceSquared = dx * dx + dy * dy + dz * dz;
+                    if (distanceSquared > (emission.force ? FORCED_VIEW_DISTANCE_SQUARED : VIEW_DISTANCE_SQUARED)) {
+                        continue;
+                    }
+                    if (!lod.shouldSend(emission.detail, distanceSquared, load)) {
+                        continue;
+                    }
+                    if (EmissionBudget.admits(emission.detail, packets.size(), viewerBudget)) {
+                        packets.add(emission.packet(lod, load));
+                    } else {
+                        dropped++;
+                    }
+                }
+                this.particleBudget.drop(dropped);
+                send(player, packets);
+                packets.clear();
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Drops every queued particle without sending them, and gives every caster, chunk and viewer its full budgets back.
+     */
+    public void clear() {
+        this.particleBudget.reset();
+        this.soundBudget.reset();
+        for (List<Emission> emissions : this.byWorld.values()) {
+            for (Emission emission : emissions) {
+                emission.release();
+                this.pool.add(emission);
+            }
+            emissions.clear();
+        }
+        this.byWorld.clear();
+        this.emissions.clear();
+    }
+
+    private static void send(Player player, List<Packet<? super ClientGamePacketListener>> packets) {
+        if (packets.isEmpty()) {
+            return;
+        }
+        ServerGamePacketListenerImpl connection = ((CraftPlayer) player).getHandle().connection;
+        for (int i = 0; i < packets.size(); i += BUNDLE_SIZE_LIMIT) {
+            List<Packet<? super ClientGamePacketListener>> bundle = packets.subList(i, Math.min(i + BUNDLE_SIZE_LIMIT, packets.size()));
+            connection.send(new ClientboundBundlePacket(new ArrayList<>(bundle)));
+        }
+    }
+
+    private static final class Emission {
+
+        private World          world;
+        private Particle       particle;
+        private Object         data;
+        private boolean        force;
+        private ParticleDetail detail;
+
+        // the rounded location, which is also where the merged particles are spawned
+        private long qx;
+        private long qy;
+        private long qz;
+
+        private double x;
+        private double y;
+        private double z;
+        private double offsetX;
+        private double offsetY;
+        private double offsetZ;
+        private double extra;
+        private int    count;
+
+        // built lazily once per flush, and shared by every viewer
+        private ClientboundLevelParticlesPacket packet;
+
+        private Emission set(World world, Particle particle, double x, double y, double z, double offsetX, double offsetY,
+                             double offsetZ, double extra, @Nullable Object data, boolean force) {
+            this.world = world;
+            this.particle = particle;
+            this.data = data;
+            this.force = force;
+            this.qx = Math.round(x * PRECISION);
+            this.qy = Math.round(y * PRECISION);
+            this.qz = Math.round(z * PRECISION);
+            this.x = this.qx / PRECISION;
+            this.y = this.qy / PRECISION;
+            this.z = this.qz / PRECISION;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.extra = extra;
+            return this;
+        }
+
+        private void copy(Emission other) {
+            set(other.world, other.particle, other.x, other.y, other.z, other.offsetX, other.offsetY, other.offsetZ, other.extra,
+                other.data, other.force);
+        }
+
+        private void release() {
+            this.world = null;
+            this.data = null;
+            this.packet = null;
+        }
+
+        private ClientboundLevelParticlesPacket packet(ParticleLod lod, double load) {
+            if (this.packet == null) {
+                this.packet = new ClientboundLevelParticlesPacket(CraftParticle.createParticleParam(this.particle, this.data),
+                    this.force, false,
+                    this.x,
+                    this.y,
+                    this.z,
+                    (float) this.offsetX,
+                    (float) this.offsetY,
+                    (float) this.offsetZ,
+                    (float) this.extra, lod.count(this.detail, this.count, load));
+            }
+            return this.packet;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Emission other)) {
+                return false;
+            }
+            return this.world == other.world
+                && this.particle == other.particle
+                && this.force == other.force
+                && this.qx == other.qx
+                && this.qy == other.qy
+                && this.qz == other.qz
+                && Double.compare(this.offsetX, other.offsetX) == 0
+                && Double.compare(this.offsetY, other.offsetY) == 0
+                && Double.compare(this.offsetZ, other.offsetZ) == 0
+                && Double.compare(this.extra, other.extra) == 0
+                && Objects.equals(this.data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(this.world);
+            result = 31 * result + this.particle.hashCode();
+            result = 31 * result + Long.hashCode(this.qx);
+            result = 31 * result + Long.hashCode(this.qy);
+            result = 31 * result + Long.hashCode(this.qz);
+            result = 31 * result + Double.hashCode(this.offsetX);
+            result = 31 * result + Double.hashCode(this.offsetY);
+            result = 31 * result + Double.hashCode(this.offsetZ);
+            result = 31 * result + Double.hashCode(this.extra);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How much an emission matters to the look of a spell, from the most important to the least important.
+ * <p>
+ * Far viewers and a loaded server only receive the most important emissions, see {@link ParticleLod}. The detail of an emission is also
+ * its priority against an {@link EmissionBudget}.
+ */
+public enum ParticleDetail {
+
+    /**
+     * Always sent, whatever the distance of the viewer or the load of the server.
+     */
+    ESSENTIAL,
+
+    /**
+     * The outline of the spell.
+     */
+    HIGH,
+
+    /**
+     * The filling of the spell.
+     */
+    MEDIUM,
+
+    /**
+     * Decorations only seen up close.
+     */
+    LOW;
+
+    private static final ParticleDetail[] VALUES = values();
+
+    /**
+     * Gets the detail right below this one, essential emissions staying essential.
+     */
+    public @NotNull ParticleDetail lower() {
+        if (this == ESSENTIAL || this == LOW) {
+            return this;
+        }
+        return VALUES[ordinal() + 1];
+    }
+
+    /**
+     * Gets the most important of the two details.
+     */
+    public static @NotNull ParticleDetail max(@NotNull ParticleDetail a, @NotNull ParticleDetail b) {
+        return a.ordinal() <= b.ordinal() ? a : b;
+    }
+}
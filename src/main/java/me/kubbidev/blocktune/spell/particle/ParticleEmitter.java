@@ -0,0 +1,101 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The view of the {@link ParticleBatcher} given to a spell cast, which tags every emission with its detail following the
+ * {@link ParticleHints} of the ability, and charges it to the caster of the spell.
+ * <p>
+ * Emissions queued without a detail are of {@link ParticleDetail#HIGH} detail, unless the hints give their particle a fixed one. Sounds
+ * are of {@link ParticleDetail#HIGH} priority.
+ */
+public final class ParticleEmitter {
+
+    private final ParticleBatcher batcher;
+    private final Entity          caster;
+    private final ParticleHints   hints;
+
+    ParticleEmitter(@NotNull ParticleBatcher batcher, @NotNull Entity caster, @NotNull ParticleHints hints) {
+        this.batcher = batcher;
+        this.caster = caster;
+        this.hints = hints;
+    }
+
+    /**
+     * Gets the detail of the point at the given step of a shape layer.
+     *
+     * @see ParticleHints#detail(int, int)
+     */
+    public @NotNull ParticleDetail detail(int layer, int step) {
+        return this.hints.detail(layer, step);
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull World world, double x, double y, double z) {
+        spawn(ParticleDetail.HIGH, particle, world, x, y, z);
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull World world, double x, double y, double z, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        spawn(ParticleDetail.HIGH, particle, world, x, y, z, count, offsetX, offsetY, offsetZ, extra);
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull World world, double x, double y, double z, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data, boolean force) {
+        spawn(ParticleDetail.HIGH, particle, world, x, y, z, count, offsetX, offsetY, offsetZ, extra, data, force);
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull Location location) {
+        spawn(particle, location.getWorld(), location.getX(), location.getY(), location.getZ());
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        spawn(particle, location.getWorld(), location.getX(), location.getY(), location.getZ(), count, offsetX, offsetY, offsetZ, extra);
+    }
+
+    public void spawn(@NotNull Particle particle, @NotNull Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data, boolean force) {
+        spawn(particle, location.getWorld(), location.getX(), location.getY(), location.getZ(), count, offsetX, offsetY, offsetZ, extra,
+            data, force);
+    }
+
+    public void spawn(@NotNull ParticleDetail detail, @NotNull Particle particle, @NotNull World world, double x, double y, double z) {
+        spawn(detail, particle, world, x, y, z, 1, 0.0, 0.0, 0.0, 1.0, null, true);
+    }
+
+    public void spawn(@NotNull ParticleDetail detail, @NotNull Particle particle, @NotNull World world, double x, double y, double z,
+                      int count, double offsetX, double offsetY, double offsetZ, double extra) {
+        spawn(detail, particle, world, x, y, z, count, offsetX, offsetY, offsetZ, extra, null, true);
+    }
+
+    /**
+     * Queues a particle of the given detail to be sent at the end of the tick.
+     *
+     * @param detail the detail of the point the particle is drawn at
+     * @see ParticleBatcher#spawn(ParticleDetail, Entity, Particle, World, double, double, double, int, double, double, double, double,
+     * Object, boolean)
+     */
+    public void spawn(@NotNull ParticleDetail detail, @NotNull Particle particle, @NotNull World world, double x, double y, double z,
+                      int count, double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data, boolean force) {
+        this.batcher.spawn(this.hints.detail(particle, detail), this.caster, particle, world, x, y, z, count, offsetX, offsetY, offsetZ,
+            extra, data, force);
+    }
+
+    public void playSound(@NotNull Location location, @NotNull Sound sound, float volume, float pitch) {
+        this.batcher.playSound(ParticleDetail.HIGH, this.caster, location, sound, volume, pitch);
+    }
+
+    public void playSound(@NotNull Location location, @NotNull String sound, float volume, float pitch) {
+        this.batcher.playSound(ParticleDetail.HIGH, this.caster, location, sound, volume, pitch);
+    }
+
+    public void playSound(@NotNull Entity source, @NotNull Sound sound, float volume, float pitch) {
+        this.batcher.playSound(ParticleDetail.HIGH, this.caster, source, sound, volume, pitch);
+    }
+}
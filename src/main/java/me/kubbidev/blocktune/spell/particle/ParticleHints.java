@@ -0,0 +1,110 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import org.bukkit.Particle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The level of detail hints of an ability, telling which of its emissions may be thinned out.
+ * <p>
+ * Every point of a {@link me.kubbidev.blocktune.spell.shape.SpellShape} is given a detail from its layer, lowered by one for the points
+ * off the angular stride, and some particles can be given a fixed detail whatever the point they are drawn at. {@link Particle#FLASH} is
+ * always {@link ParticleDetail#ESSENTIAL}.
+ */
+public final class ParticleHints {
+
+    /**
+     * The hints of an ability which does not thin out any layer.
+     */
+    public static final ParticleHints DEFAULT = builder().build();
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    // layer -> detail of its points, layers past the end of the array are of high detail
+    private final ParticleDetail[]              layers;
+    // the points whose step is not a multiple of the stride are lowered by one detail
+    private final int                           stride;
+    // particle -> detail, whatever the point it is drawn at
+    private final Map<Particle, ParticleDetail> particles;
+
+    private ParticleHints(Builder builder) {
+        this.layers = builder.layers.clone();
+        this.stride = builder.stride;
+        this.particles = new EnumMap<>(builder.particles);
+    }
+
+    /**
+     * Gets the detail of the point at the given step of a shape layer.
+     *
+     * @param layer the layer of the point
+     * @param step  the index of the point in the frame
+     * @return the detail of the point
+     */
+    public @NotNull ParticleDetail detail(int layer, int step) {
+        ParticleDetail detail = layer < this.layers.length ? this.layers[layer] : ParticleDetail.HIGH;
+        return step % this.stride == 0 ? detail : detail.lower();
+    }
+
+    /**
+     * Gets the detail of the given particle when drawn at a point of the given detail.
+     */
+    public @NotNull ParticleDetail detail(@NotNull Particle particle, @NotNull ParticleDetail detail) {
+        return this.particles.getOrDefault(particle, detail);
+    }
+
+    public static final class Builder {
+
+        private final Map<Particle, ParticleDetail> particles = new EnumMap<>(Particle.class);
+        private ParticleDetail[]                    layers    = new ParticleDetail[0];
+        private int                                 stride    = 1;
+
+        private Builder() {
+            this.particles.put(Particle.FLASH, ParticleDetail.ESSENTIAL);
+        }
+
+        /**
+         * Sets the detail of the points of the given layer.
+         */
+        public @NotNull Builder layer(int layer, @NotNull ParticleDetail detail) {
+            if (layer < 0) {
+                throw new IllegalArgumentException("layer must be positive");
+            }
+            if (layer >= this.layers.length) {
+                int length = this.layers.length;
+                this.layers = Arrays.copyOf(this.layers, layer + 1);
+                Arrays.fill(this.layers, length, layer, ParticleDetail.HIGH);
+            }
+            this.layers[layer] = detail;
+            return this;
+        }
+
+        /**
+         * Lowers by one the detail of the points whose step is not a multiple of the given stride, a stride of two keeping every other
+         * angular step at full detail.
+         */
+        public @NotNull Builder stride(int stride) {
+            if (stride <= 0) {
+                throw new IllegalArgumentException("stride must be greater than 0");
+            }
+            this.stride = stride;
+            return this;
+        }
+
+        /**
+         * Sets the detail of the given particle, whatever the point it is drawn at.
+         */
+        public @NotNull Builder particle(@NotNull Particle particle, @NotNull ParticleDetail detail) {
+            this.particles.put(particle, detail);
+            return this;
+        }
+
+        public @NotNull ParticleHints build() {
+            return new ParticleHints(this);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package me.kubbidev.blocktune.spell.particle;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The level of detail policy of the particle stage.
+ * <p>
+ * Every {@link ParticleDetail} but {@link ParticleDetail#ESSENTIAL} is only sent to viewers within its own distance band. As the server
+ * gets close to the 50ms tick budget, the least important details are shed first for every viewer, and the count of the remaining
+ * emissions is scaled down.
+ */
+public final class ParticleLod {
+
+    // the duration of a tick the server tries to stay under
+    private static final double TICK_BUDGET = 50.0;
+
+    private static final ParticleDetail[] DETAILS = ParticleDetail.values();
+
+    // detail -> squared distance under which it is sent
+    private final double[] distancesSquared = new double[DETAILS.length];
+    // the mspt from which the density starts to be scaled down
+    private final double   loadThreshold;
+
+    /**
+     * Creates a new policy.
+     *
+     * @param highDistance   the distance under which high details are sent
+     * @param mediumDistance the distance under which medium details are sent
+     * @param lowDistance    the distance under which low details are sent
+     * @param loadThreshold  the mspt from which the density starts to be scaled down
+     */
+    public ParticleLod(double highDistance, double mediumDistance, double lowDistance, double loadThreshold) {
+        this.distancesSquared[ParticleDetail.ESSENTIAL.ordinal()] = Double.POSITIVE_INFINITY;
+        this.distancesSquared[ParticleDetail.HIGH.ordinal()] = highDistance * highDistance;
+        this.distancesSquared[ParticleDetail.MEDIUM.ordinal()] = mediumDistance * mediumDistance;
+        this.distancesSquared[ParticleDetail.LOW.ordinal()] = lowDistance * lowDistance;
+        this.loadThreshold = loadThreshold;
+    }
+
+    /**
+     * Gets how loaded the server is, from 0 under the threshold to 1 at the tick budget.
+     *
+     * @param mspt the average duration of a tick in milliseconds
+     */
+    public double load(double mspt) {
+        if (this.loadThreshold >= TICK_BUDGET) {
+            return mspt >= TICK_BUDGET ? 1.0 : 0.0;
+        }
+        return Math.clamp((mspt - this.loadThreshold) / (TICK_BUDGET - this.loadThreshold), 0.0, 1.0);
+    }
+
+    /**
+     * Gets whether an emission of the given detail is sent to a viewer at the given distance.
+     *
+     * @param detail          the detail of the emission
+     * @param distanceSquared the squared distance between the emission and the viewer
+     * @param load            the load of the server, as returned by {@link #load(double)}
+     */
+    public boolean shouldSend(@NotNull ParticleDetail detail, double distanceSquared, double load) {
+        if (detail == ParticleDetail.ESSENTIAL) {
+            return true;
+        }
+        // the least important details are shed first, until only essential ones remain at full load
+        int shed = (int) Math.ceil(load * (DETAILS.length - 1));
+        if (detail.ordinal() >= DETAILS.length - shed) {
+            return false;
+        }
+        return distanceSquared <= this.distancesSquared[detail.ordinal()];
+    }
+
+    /**
+     * Scales down the count of an emission of the given detail following the load of the server.
+     *
+     * @param detail the detail of the emission
+     * @param count  the amount of particles
+     * @param load   the load of the server, as returned by {@link #load(double)}
+     * @return the amount of particles to send, at least one unless the count was zero
+     */
+    public int count(@NotNull ParticleDetail detail, int count, double load) {
+        if (detail == ParticleDetail.ESSENTIAL || count <= 1) {
+            return count;
+        }
+        return Math.max(1, (int) Math.ceil(count * (1.0 - load)));
+    }
+}
@@ -0,0 +1,167 @@
+package me.kubbidev.blocktune.spell.shape;
+
+import me.kubbidev.blocktune.math.Mat3d;
+import me.kubbidev.blocktune.math.PointBuffer;
+import me.kubbidev.blocktune.math.Vec3d;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A precompiled set of local-space sample points drawn by a spell, split into frames.
+ * <p>
+ * Spell handlers used to recompute the trigonometry of every sample point each tick, then rotate and translate freshly allocated vectors.
+ * Shapes are instead compiled once into flat arrays (a frame usually being one phase of the spell animation), and only have to be
+ * transformed by a single rotation matrix built per tick from the caster orientation.
+ */
+public final class SpellShape {
+
+    private final int frameCount;
+    private final int frameSize;
+
+    // local-space coordinates, frame-major
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    // layer of each point of a frame, the same for every frame
+    private final int[]    layers;
+
+    private SpellShape(int frameCount, int frameSize, double[] xs, double[] ys, double[] zs, int[] layers) {
+        this.frameCount = frameCount;
+        this.frameSize = frameSize;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        this.layers = layers;
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the amount of frames of this shape.
+     */
+    public int frameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * Gets the amount of points of each frame of this shape.
+     */
+    public int frameSize() {
+        return this.frameSize;
+    }
+
+    /**
+     * Gets the layer the given point of a frame belongs to.
+     *
+     * @param point the index of the point within its frame
+     * @return the layer of the point
+     */
+    public int layer(int point) {
+        return this.layers[point];
+    }
+
+    /**
+     * Rotates every point of the given frame by the given matrix, translates it to the given origin and appends it to the given buffer.
+     * <p>
+     * The index of a point within the frame is its index within the buffer as long as the buffer was empty.
+     *
+     * @param frame    the frame to transform
+     * @param rotation the rotation to apply
+     * @param x        the x coordinate of the origin
+     * @param y        the y coordinate of the origin
+     * @param z        the z coordinate of the origin
+     * @param out      the buffer receiving the world-space points
+     * @return the given buffer
+     */
+    public @NotNull PointBuffer transform(int frame, @NotNull Mat3d rotation, double x, double y, double z, @NotNull PointBuffer out) {
+        rotation.transform(this.xs, this.ys, this.zs, frame * this.frameSize, this.frameSize, x, y, z, out);
+        return out;
+    }
+
+    /**
+     * Builds {@link SpellShape}s frame by frame.
+     */
+    public static final class Builder {
+
+        private final PointBuffer points = new PointBuffer();
+        private final Vec3d       vector = new Vec3d();
+
+        private int[] layers = new int[64];
+
+        private int frameCount;
+        private int frameStart;
+        private int frameSize = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * Starts a new frame, every frame must contain the same amount of points.
+         */
+        public @NotNull Builder frame() {
+            endFrame();
+            this.frameStart = this.points.size();
+            this.frameCount++;
+            return this;
+        }
+
+        /**
+         * Adds a point to the current frame.
+         */
+        public @NotNull Builder point(int layer, double x, double y, double z) {
+            if (this.frameCount == 0) {
+                throw new IllegalStateException("No frame started");
+            }
+            int index = this.points.size() - this.frameStart;
+            if (this.frameSize == -1) {
+                if (index == this.layers.length) {
+                    this.layers = Arrays.copyOf(this.layers, this.layers.length << 1);
+                }
+                this.layers[index] = layer;
+            }
+            this.points.add(x, y, z);
+            return this;
+        }
+
+        /**
+         * Adds a point to the current frame, rotated around the x axis then the y axis the same way
+         * {@link org.bukkit.util.Vector#rotateAroundX(double)} and {@link org.bukkit.util.Vector#rotateAroundY(double)} would.
+         */
+        public @NotNull Builder point(int layer, double x, double y, double z, double angleX, double angleY) {
+            this.vector.set(x, y, z).rotateAroundX(angleX).rotateAroundY(angleY);
+            return point(layer, this.vector.getX(), this.vector.getY(), this.vector.getZ());
+        }
+
+        private void endFrame() {
+            if (this.frameCount == 0) {
+                return;
+            }
+            int size = this.points.size() - this.frameStart;
+            if (this.frameSize == -1) {
+                this.frameSize = size;
+            } else if (this.frameSize != size) {
+                throw new IllegalStateException("Frame " + (this.frameCount - 1) + " has " + size + " points instead of " + this.frameSize);
+            }
+        }
+
+        public @NotNull SpellShape build() {
+            endFrame();
+            if (this.frameCount == 0) {
+                throw new IllegalStateException("Shape has no frame");
+            }
+            int size = this.points.size();
+            double[] xs = new double[size];
+            double[] ys = new double[size];
+            double[] zs = new double[size];
+            for (int i = 0; i < size; i++) {
+                xs[i] = this.points.x(i);
+                ys[i] = this.points.y(i);
+                zs[i] = this.points.z(i);
+            }
+            return new SpellShape(this.frameCount, this.frameSize, xs, ys, zs, Arrays.copyOf(this.layers, this.frameSize));
+        }
+    }
+}
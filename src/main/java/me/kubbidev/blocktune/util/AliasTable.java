@@ -0,0 +1,106 @@
+package me.kubbidev.blocktune.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks indices at random following fixed weights, in constant time and without allocating.
+ * <p>
+ * The table is built with the method of Vose: every weight is scaled so that the weights average to one, then each column of the table
+ * is filled with a weight below one, topped up by the excess of a weight above one. Picking an index then takes a single column and a
+ * single coin flip, whatever the weights.
+ */
+public final class AliasTable {
+
+    // column -> index picked when the coin flip lands under the probability of the column
+    private final int[]    indices;
+    // column -> probability of picking the index of the column rather than its alias
+    private final double[] probabilities;
+    // column -> index picked otherwise
+    private final int[]    aliases;
+
+    /**
+     * Creates a new table.
+     *
+     * @param weights the weight of each index, indices with a weight of zero or below are never picked
+     * @throws IllegalArgumentException if a weight is not finite
+     */
+    public AliasTable(double @NotNull [] weights) throws IllegalArgumentException {
+        int count = 0;
+        double sum = 0;
+        for (double weight : weights) {
+            if (!Double.isFinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite");
+            }
+            if (weight > 0) {
+                count++;
+                sum += weight;
+            }
+        }
+        this.indices = new int[count];
+        this.probabilities = new double[count];
+        this.aliases = new int[count];
+
+        // only the positive weights get a column, so that a weight of zero is never picked because of a rounding error
+        double[] scaled = new double[count];
+        for (int i = 0, column = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                this.indices[column] = i;
+                scaled[column++] = weights[i] * count / sum;
+            }
+        }
+        int[] small = new int[count];
+        int[] large = new int[count];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int column = 0; column < count; column++) {
+            if (scaled[column] < 1.0) {
+                small[smallSize++] = column;
+            } else {
+                large[largeSize++] = column;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            this.probabilities[less] = scaled[less];
+            this.aliases[less] = this.indices[more];
+            // the weight above one gives the column below one what it misses
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // what remains is one, up to rounding errors
+        while (largeSize > 0) {
+            this.probabilities[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            this.probabilities[small[--smallSize]] = 1.0;
+        }
+    }
+
+    /**
+     * Gets whether no index can be picked, every weight being zero or below.
+     */
+    public boolean isEmpty() {
+        return this.indices.length == 0;
+    }
+
+    /**
+     * Picks an index following the weights of the table.
+     *
+     * @param random the source of randomness
+     * @return the picked index, or -1 if the table is empty
+     */
+    public int next(@NotNull RandomGenerator random) {
+        if (this.indices.length == 0) {
+            return -1;
+        }
+        int column = random.nextInt(this.indices.length);
+        return random.nextDouble() < this.probabilities[column] ? this.indices[column] : this.aliases[column];
+    }
+}
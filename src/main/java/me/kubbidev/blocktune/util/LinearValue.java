@@ -8,6 +8,11 @@ public class LinearValue {
 
     public static final LinearValue ZERO = new LinearValue(0, 0, 0, 0);
 
+    /**
+     * The levels whose value is computed once when the formula is created, higher levels being computed on each call.
+     */
+    public static final int CACHED_LEVELS = 100;
+
     private final double base;
     private final double perLevel;
 
@@ -17,6 +22,9 @@ public class LinearValue {
     private final boolean hasMin;
     private final boolean hasMax;
 
+    // level - 1 -> value at that level, for the cached levels
+    private final double[] curve = new double[CACHED_LEVELS];
+
     /**
      * A number formula which depends on the entity level.
      * <p>
@@ -33,6 +41,7 @@ public class LinearValue {
         this.max = 0;
         this.hasMin = false;
         this.hasMax = false;
+        tabulate();
     }
 
     /**
@@ -53,6 +62,7 @@ public class LinearValue {
         this.max = max;
         this.hasMin = true;
         this.hasMax = true;
+        tabulate();
     }
 
     public LinearValue(@NotNull LinearValue value) {
@@ -62,6 +72,7 @@ public class LinearValue {
         this.max = value.max;
         this.hasMin = value.hasMin;
         this.hasMax = value.hasMax;
+        tabulate();
     }
 
     public LinearValue(@NotNull ConfigurationSection config) {
@@ -71,6 +82,7 @@ public class LinearValue {
         this.hasMax = config.contains("max");
         this.min = this.hasMin ? config.getDouble("min") : 0;
         this.max = this.hasMax ? config.getDouble("max") : 0;
+        tabulate();
     }
 
     public double getBaseValue() {
@@ -102,6 +114,19 @@ public class LinearValue {
     }
 
     public double calculate(int level) {
+        if (level >= 1 && level <= CACHED_LEVELS) {
+            return this.curve[level - 1];
+        }
+        return compute(level);
+    }
+
+    private void tabulate() {
+        for (int level = 1; level <= CACHED_LEVELS; level++) {
+            this.curve[level - 1] = compute(level);
+        }
+    }
+
+    private double compute(int level) {
         double value = this.base + this.perLevel * (level - 1);
 
         if (this.hasMin) {
@@ -0,0 +1,219 @@
+package me.kubbidev.blocktune.util;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A cell-bucketed spatial hash over a set of points, backed entirely by primitive arrays.
+ * <p>
+ * Points are appended with {@link #add(double, double, double)} and then grouped by cell with a single {@link #build()} pass (a counting
+ * sort keyed by an open-addressing cell table), after which sphere queries only visit the cells overlapping the sphere.
+ * <p>
+ * Instances are meant to be cleared and refilled in place, so that rebuilding the hash every tick does not allocate once the backing
+ * arrays have grown to the working set size.
+ */
+@ApiStatus.Internal
+public final class SpatialHash {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // log2 of the cell edge length in blocks
+    private final int cellShift;
+
+    // point coordinates, indexed by insertion order
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] zs = new double[64];
+    private int      size;
+
+    // point indices grouped by cell, each cell owning the range [cellStart, cellEnd)
+    private int[]  order     = new int[64];
+    private int[]  cellOf    = new int[64];
+    private long[] cellKeys  = new long[16];
+    private int[]  cellStart = new int[16];
+    private int[]  cellEnd   = new int[16];
+    private int    cellMask  = 15;
+    private int    cellCount;
+
+    public SpatialHash(int cellShift) {
+        if (cellShift < 0 || cellShift > 8) {
+            throw new IllegalArgumentException("cellShift must be between 0 and 8");
+        }
+        this.cellShift = cellShift;
+        Arrays.fill(this.cellKeys, EMPTY);
+    }
+
+    /**
+     * Removes every point from this hash, keeping the backing arrays.
+     */
+    public void clear() {
+        this.size = 0;
+        this.cellCount = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public double x(int index) {
+        return this.xs[index];
+    }
+
+    public double y(int index) {
+        return this.ys[index];
+    }
+
+    public double z(int index) {
+        return this.zs[index];
+    }
+
+    /**
+     * Appends a point to this hash, the point is not queryable until the next {@link #build()}.
+     *
+     * @return the index of the point
+     */
+    public int add(double x, double y, double z) {
+        int index = this.size;
+        if (index == this.xs.length) {
+            int capacity = index << 1;
+            this.xs = Arrays.copyOf(this.xs, capacity);
+            this.ys = Arrays.copyOf(this.ys, capacity);
+            this.zs = Arrays.copyOf(this.zs, capacity);
+        }
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.zs[index] = z;
+        this.size = index + 1;
+        return index;
+    }
+
+    /**
+     * Groups every point added since the last {@link #clear()} by cell.
+     */
+    public void build() {
+        int size = this.size;
+        if (this.order.length < size) {
+            this.order = new int[this.xs.length];
+            this.cellOf = new int[this.xs.length];
+        }
+
+        int capacity = 16;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        if (this.cellKeys.length != capacity) {
+            this.cellKeys = new long[capacity];
+            this.cellStart = new int[capacity];
+            this.cellEnd = new int[capacity];
+        }
+        Arrays.fill(this.cellKeys, EMPTY);
+        Arrays.fill(this.cellEnd, 0);
+        this.cellMask = capacity - 1;
+        this.cellCount = 0;
+
+        // first pass, count the points falling in each cell
+        for (int i = 0; i < size; i++) {
+            long key = cellKey(cell(this.xs[i]), cell(this.ys[i]), cell(this.zs[i]));
+            int slot = slot(key);
+            if (this.cellKeys[slot] == EMPTY) {
+                this.cellKeys[slot] = key;
+                this.cellCount++;
+            }
+            this.cellOf[i] = slot;
+            this.cellEnd[slot]++;
+        }
+
+        // prefix sum over the slots so every cell owns a contiguous range
+        int offset = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int count = this.cellEnd[slot];
+            this.cellStart[slot] = offset;
+            this.cellEnd[slot] = offset;
+            offset += count;
+        }
+
+        // second pass, scatter point indices into their cell range
+        for (int i = 0; i < size; i++) {
+            this.order[this.cellEnd[this.cellOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * Calls the given action with the index of every point lying inside the given sphere.
+     */
+    public void query(double x, double y, double z, double radius, IntConsumer action) {
+        if (this.size == 0) {
+            return;
+        }
+        double radiusSquared = radius * radius;
+
+        int minX = cell(x - radius);
+        int minY = cell(y - radius);
+        int minZ = cell(z - radius);
+        int maxX = cell(x + radius);
+        int maxY = cell(y + radius);
+        int maxZ = cell(z + radius);
+
+        long cells = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (cells > this.cellCount) {
+            // the sphere overlaps more cells than are populated, a linear scan is cheaper
+            for (int i = 0; i < this.size; i++) {
+                if (distanceSquared(i, x, y, z) <= radiusSquared) {
+                    action.accept(i);
+                }
+            }
+            return;
+        }
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    long key = cellKey(cx, cy, cz);
+                    int slot = slot(key);
+                    if (this.cellKeys[slot] == EMPTY) {
+                        continue;
+                    }
+                    for (int j = this.cellStart[slot], end = this.cellEnd[slot]; j < end; j++) {
+                        int i = this.order[j];
+                        if (distanceSquared(i, x, y, z) <= radiusSquared) {
+                            action.accept(i);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private double distanceSquared(int index, double x, double y, double z) {
+        double dx = this.xs[index] - x;
+        double dy = this.ys[index] - y;
+        double dz = this.zs[index] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> this.cellShift;
+    }
+
+    private int slot(long key) {
+        int slot = (int) mix(key) & this.cellMask;
+        long current;
+        while ((current = this.cellKeys[slot]) != EMPTY && current != key) {
+            slot = (slot + 1) & this.cellMask;
+        }
+        return slot;
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
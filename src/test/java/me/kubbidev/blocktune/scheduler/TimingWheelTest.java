@@ -0,0 +1,155 @@
+package me.kubbidev.blocktune.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    // the ticks spanned by the wheel, 64 slots on each of its 4 levels
+    private static final long SPAN = 1L << 24;
+
+    private TimingWheel wheel;
+
+    @BeforeEach
+    public void setup() {
+        this.wheel = new TimingWheel(Logger.getLogger(TimingWheelTest.class.getName()));
+    }
+
+    private long expiryTick(long delay) {
+        long[] fired = {-1L};
+        TimingWheel.Timeout timeout = this.wheel.schedule(delay, () -> fired[0] = this.wheel.getTick());
+        long deadline = this.wheel.getTick() + delay;
+        assertEquals(deadline, timeout.getDeadline());
+
+        this.wheel.advance(deadline - 1);
+        assertEquals(-1L, fired[0], "expired early");
+        assertFalse(timeout.isExpired());
+
+        this.wheel.advance(deadline);
+        assertTrue(timeout.isExpired());
+        return fired[0];
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262143, 262144, 262145, SPAN - 1})
+    public void testExpiresAtDeadline(long delay) {
+        assertEquals(delay, expiryTick(delay));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 262145})
+    public void testExpiresAtDeadlineFromUnalignedTick(long delay) {
+        // start just before a boundary of every level, so that the timeouts cascade down at once
+        this.wheel.advance(SPAN - 3);
+        assertEquals(SPAN - 3 + delay, expiryTick(delay));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {SPAN, SPAN + 1, 2 * SPAN + 100})
+    public void testExpiresBeyondSpan(long delay) {
+        this.wheel.advance(17);
+        assertEquals(17 + delay, expiryTick(delay));
+    }
+
+    @Test
+    public void testDelayBelowOneWaitsForNextTick() {
+        this.wheel.advance(10);
+        assertEquals(11, expiryTick(1));
+        TimingWheel.Timeout timeout = this.wheel.schedule(0, () -> {
+        });
+        assertEquals(12, timeout.getDeadline());
+        timeout = this.wheel.schedule(-5, () -> {
+        });
+        assertEquals(12, timeout.getDeadline());
+    }
+
+    @Test
+    public void testSameTickRunsEveryTimeout() {
+        List<Integer> fired = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            this.wheel.schedule(70, () -> fired.add(index));
+        }
+        this.wheel.advance(69);
+        assertTrue(fired.isEmpty());
+        this.wheel.advance(70);
+        assertEquals(100, fired.size());
+    }
+
+    @Test
+    public void testCancel() {
+        boolean[] fired = {false};
+        TimingWheel.Timeout timeout = this.wheel.schedule(100, () -> fired[0] = true);
+        this.wheel.advance(50);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+
+        this.wheel.advance(200);
+        assertFalse(fired[0]);
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testCancelAfterExpiry() {
+        TimingWheel.Timeout timeout = this.wheel.schedule(5, () -> {
+        });
+        this.wheel.advance(5);
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    public void testScheduleFromAction() {
+        List<Long> fired = new ArrayList<>();
+        Runnable[] action = new Runnable[1];
+        action[0] = () -> {
+            fired.add(this.wheel.getTick());
+            if (fired.size() < 3) {
+                this.wheel.schedule(64, action[0]);
+            }
+        };
+        this.wheel.schedule(64, action[0]);
+        this.wheel.advance(1000);
+        assertEquals(List.of(64L, 128L, 192L), fired);
+    }
+
+    @Test
+    public void testFailingActionDoesNotStopOthers() {
+        boolean[] fired = {false};
+        this.wheel.schedule(3, () -> {
+            throw new IllegalStateException("expected");
+        });
+        this.wheel.schedule(3, () -> fired[0] = true);
+        this.wheel.advance(3);
+        assertTrue(fired[0]);
+    }
+
+    @Test
+    public void testClear() {
+        boolean[] fired = {false};
+        TimingWheel.Timeout near = this.wheel.schedule(10, () -> fired[0] = true);
+        TimingWheel.Timeout far = this.wheel.schedule(5000, () -> fired[0] = true);
+        this.wheel.advance(2);
+        // not handed over to the wheel yet
+        TimingWheel.Timeout pending = this.wheel.schedule(3, () -> fired[0] = true);
+
+        this.wheel.clear();
+        assertTrue(near.isCancelled());
+        assertTrue(far.isCancelled());
+        assertTrue(pending.isCancelled());
+        this.wheel.advance(10000);
+        assertFalse(fired[0]);
+    }
+}
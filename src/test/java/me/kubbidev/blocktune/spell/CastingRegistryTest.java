@@ -0,0 +1,200 @@
+package me.kubbidev.blocktune.spell;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CastingRegistryTest {
+
+    private CastingRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new CastingRegistry();
+    }
+
+    private static <T extends Entity> T entity(Class<T> type, int id) {
+        T entity = mock(type);
+        when(entity.getEntityId()).thenReturn(id);
+        return entity;
+    }
+
+    private static Entity entity(int id) {
+        return entity(Entity.class, id);
+    }
+
+    private void remove(Entity entity) {
+        EntityRemoveFromWorldEvent event = mock(EntityRemoveFromWorldEvent.class);
+        when(event.getEntity()).thenReturn(entity);
+        this.registry.onEntityRemove(event);
+    }
+
+    private void quit(Player player) {
+        PlayerQuitEvent event = mock(PlayerQuitEvent.class);
+        when(event.getPlayer()).thenReturn(player);
+        this.registry.onPlayerQuit(event);
+    }
+
+    @Test
+    public void testStartAndEnd() {
+        Entity entity = entity(1);
+        assertFalse(this.registry.isCasting(entity));
+
+        this.registry.start(entity, Ability.DANCE);
+        assertTrue(this.registry.isCasting(entity));
+        assertTrue(this.registry.isCasting(entity, Ability.DANCE));
+        assertFalse(this.registry.isCasting(entity, Ability.FIRE_WHEEL));
+
+        this.registry.end(entity, Ability.DANCE);
+        assertFalse(this.registry.isCasting(entity));
+        assertFalse(this.registry.isCasting(entity, Ability.DANCE));
+    }
+
+    @Test
+    public void testSpellWithoutAbility() {
+        Entity entity = entity(1);
+        this.registry.start(entity, null);
+        assertTrue(this.registry.isCasting(entity));
+        for (Ability ability : Ability.values()) {
+            assertFalse(this.registry.isCasting(entity, ability));
+        }
+        this.registry.end(entity, null);
+        assertFalse(this.registry.isCasting(entity));
+    }
+
+    @Test
+    public void testEntitiesAreIndependent() {
+        Entity first = entity(1);
+        Entity second = entity(2);
+        this.registry.start(first, Ability.DANCE);
+        assertFalse(this.registry.isCasting(second));
+
+        this.registry.start(second, Ability.FIRE_WHEEL);
+        this.registry.end(first, Ability.DANCE);
+        assertFalse(this.registry.isCasting(first));
+        assertTrue(this.registry.isCasting(second, Ability.FIRE_WHEEL));
+    }
+
+    @Test
+    public void testOverlappingCasts() {
+        Entity entity = entity(1);
+        this.registry.start(entity, Ability.DANCE);
+        this.registry.start(entity, Ability.DANCE);
+        this.registry.start(entity, Ability.FIRE_WHEEL);
+
+        this.registry.end(entity, Ability.DANCE);
+        assertTrue(this.registry.isCasting(entity, Ability.DANCE));
+        this.registry.end(entity, Ability.DANCE);
+        assertFalse(this.registry.isCasting(entity, Ability.DANCE));
+        assertTrue(this.registry.isCasting(entity, Ability.FIRE_WHEEL));
+    }
+
+    @Test
+    public void testCounterSaturates() {
+        Entity entity = entity(1);
+        // the counter holds up to 7 casts, the 8th start is ignored
+        for (int i = 0; i < 8; i++) {
+            this.registry.start(entity, Ability.DANCE);
+        }
+        for (int i = 0; i < 7; i++) {
+            assertTrue(this.registry.isCasting(entity, Ability.DANCE));
+            this.registry.end(entity, Ability.DANCE);
+        }
+        assertFalse(this.registry.isCasting(entity));
+    }
+
+    @Test
+    public void testEndWithoutStart() {
+        Entity entity = entity(1);
+        this.registry.end(entity, Ability.DANCE);
+        assertFalse(this.registry.isCasting(entity));
+
+        // an underflow must not borrow from the counter of another ability
+        this.registry.start(entity, Ability.FIRE_WHEEL);
+        this.registry.end(entity, Ability.DANCE);
+        assertTrue(this.registry.isCasting(entity, Ability.FIRE_WHEEL));
+        for (Ability ability : Ability.values()) {
+            if (ability != Ability.FIRE_WHEEL) {
+                assertFalse(this.registry.isCasting(entity, ability));
+            }
+        }
+    }
+
+    @Test
+    public void testForgetRemovedEntity() {
+        Entity entity = entity(1);
+        this.registry.start(entity, Ability.DANCE);
+        remove(entity);
+        assertFalse(this.registry.isCasting(entity));
+
+        // the end of a cast started before the entity was forgotten is ignored
+        this.registry.end(entity, Ability.DANCE);
+        assertFalse(this.registry.isCasting(entity));
+
+        // a new entity with the same id starts from scratch
+        this.registry.start(entity, Ability.DANCE);
+        assertTrue(this.registry.isCasting(entity, Ability.DANCE));
+        this.registry.end(entity, Ability.DANCE);
+        assertFalse(this.registry.isCasting(entity));
+    }
+
+    @Test
+    public void testPlayersAreForgottenWhenQuitting() {
+        Player player = entity(Player.class, 1);
+        this.registry.start(player, Ability.DANCE);
+
+        // players keep their id when changing worlds
+        remove(player);
+        assertTrue(this.registry.isCasting(player));
+
+        quit(player);
+        assertFalse(this.registry.isCasting(player));
+    }
+
+    @Test
+    public void testRebuild() {
+        // enough entities to fill and rebuild every stripe several times
+        int count = 2_000;
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = entity(i + 1);
+            this.registry.start(entities[i], Ability.values()[i % Ability.values().length]);
+        }
+        for (int i = 0; i < count; i++) {
+            assertTrue(this.registry.isCasting(entities[i], Ability.values()[i % Ability.values().length]));
+        }
+
+        // forget every other entity, then insert new ones, so that stripes are rebuilt over removed slots
+        for (int i = 0; i < count; i += 2) {
+            remove(entities[i]);
+        }
+        Entity[] added = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            added[i] = entity(count + i + 1);
+            this.registry.start(added[i], null);
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                assertFalse(this.registry.isCasting(entities[i]));
+            } else {
+                assertTrue(this.registry.isCasting(entities[i], Ability.values()[i % Ability.values().length]));
+            }
+            assertTrue(this.registry.isCasting(added[i]));
+        }
+
+        // the counters survived the rebuilds
+        for (int i = 1; i < count; i += 2) {
+            this.registry.end(entities[i], Ability.values()[i % Ability.values().length]);
+            assertFalse(this.registry.isCasting(entities[i]));
+        }
+    }
+}
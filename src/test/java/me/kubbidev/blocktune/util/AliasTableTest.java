@@ -0,0 +1,87 @@
+package me.kubbidev.blocktune.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AliasTableTest {
+
+    private static final int DRAWS = 1_000_000;
+
+    private static int[] draw(AliasTable table, int size) {
+        SplittableRandom random = new SplittableRandom(42L);
+        int[] counts = new int[size];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[table.next(random)]++;
+        }
+        return counts;
+    }
+
+    private static void assertDistribution(double[] weights, int[] counts) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += Math.max(0, weight);
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double expected = Math.max(0, weights[i]) / sum;
+            double actual = (double) counts[i] / DRAWS;
+            // a million draws keep the frequency of each index within a few thousandths of its probability
+            assertEquals(expected, actual, 0.005, "frequency of index " + i);
+        }
+    }
+
+    @Test
+    public void testFollowsWeights() {
+        double[] weights = {1, 2, 3, 4};
+        assertDistribution(weights, draw(new AliasTable(weights), weights.length));
+    }
+
+    @Test
+    public void testUnevenWeights() {
+        double[] weights = {0.01, 100, 0.5, 7, 7, 42};
+        assertDistribution(weights, draw(new AliasTable(weights), weights.length));
+    }
+
+    @Test
+    public void testZeroWeightsNeverPicked() {
+        double[] weights = {0, 3, 0, 1, -2, 0};
+        int[] counts = draw(new AliasTable(weights), weights.length);
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[2]);
+        assertEquals(0, counts[4]);
+        assertEquals(0, counts[5]);
+        assertDistribution(weights, counts);
+    }
+
+    @Test
+    public void testSingleWeight() {
+        AliasTable table = new AliasTable(new double[]{0, 0, 5});
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(2, table.next(random));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        AliasTable table = new AliasTable(new double[]{0, 0, -1});
+        assertTrue(table.isEmpty());
+        assertEquals(-1, table.next(new SplittableRandom(42L)));
+
+        assertTrue(new AliasTable(new double[0]).isEmpty());
+        assertFalse(new AliasTable(new double[]{0, 1}).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    public void testNonFiniteWeight(double weight) {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, weight}));
+    }
+}
@@ -0,0 +1,72 @@
+package me.kubbidev.blocktune.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@link PointKernel} processing several points per instruction through the incubating Vector API.
+ * <p>
+ * This class links against {@code jdk.incubator.vector}, it must only be loaded by {@link PointKernels} once the module has been found
+ * in the boot layer, which is why it lives in its own source set, the only one compiled with the module. Multiplications and additions
+ * are kept separate (no fused multiply-add) so the results match the scalar kernel bit for bit.
+ */
+final class VectorPointKernel implements PointKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorPointKernel() {
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+
+    @Override
+    public void transform(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int from, int length,
+                          double @NotNull [] m, double x, double y, double z,
+                          double @NotNull [] outX, double @NotNull [] outY, double @NotNull [] outZ, int outFrom) {
+        double m00 = m[0], m01 = m[1], m02 = m[2];
+        double m10 = m[3], m11 = m[4], m12 = m[5];
+        double m20 = m[6], m21 = m[7], m22 = m[8];
+
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector px = DoubleVector.fromArray(SPECIES, xs, from + i);
+            DoubleVector py = DoubleVector.fromArray(SPECIES, ys, from + i);
+            DoubleVector pz = DoubleVector.fromArray(SPECIES, zs, from + i);
+
+            px.mul(m00).add(x).add(py.mul(m01)).add(pz.mul(m02)).intoArray(outX, outFrom + i);
+            px.mul(m10).add(y).add(py.mul(m11)).add(pz.mul(m12)).intoArray(outY, outFrom + i);
+            px.mul(m20).add(z).add(py.mul(m21)).add(pz.mul(m22)).intoArray(outZ, outFrom + i);
+        }
+        // the remaining points do not fill a whole vector
+        ScalarPointKernel.INSTANCE.transform(xs, ys, zs, from + i, length - i, m, x, y, z, outX, outY, outZ, outFrom + i);
+    }
+
+    @Override
+    public boolean anyWithin(double @NotNull [] xs, double @NotNull [] ys, double @NotNull [] zs, int length,
+                             double x, double y, double z, double radiusSquared) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(y);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, zs, i).sub(z);
+
+            DoubleVector distanceSquared = dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz));
+            if (distanceSquared.compare(VectorOperators.LE, radiusSquared).anyTrue()) {
+                return true;
+            }
+        }
+        for (; i < length; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double dz = zs[i] - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+}